@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# Cold-start benchmark for SimpleBookstoreApplication.
+#
+# Starts each variant several times and reports, as medians:
+#   ready    time from JVM start to ApplicationReadyEvent (logged by StartupTimings)
+#   first    wall time from launch until GET /api/books first answers 200
+#   rss      resident set size of the JVM right after that first response
+#
+# Variants:
+#   jar      executable jar (target/simple-bookstore-<version>-exec.jar)
+#   plain    plain jar + lib/ from the cds profile, JDK default CDS archive only
+#   cds      plain jar with the application CDS archive
+#   cds-aot  plain jar with the CDS archive and the AOT-processed context
+#
+# Build first:  mvn package -Pcds -DskipTests
+# Usage:        scripts/startup-benchmark.sh [runs] [variant...]
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+shift || true
+VARIANTS=("$@")
+if [ ${#VARIANTS[@]} -eq 0 ]; then
+    VARIANTS=(jar plain cds cds-aot)
+fi
+
+JAVA=${JAVA:-java}
+PORT=${PORT:-18181}
+APP_ARGS=(--server.port="$PORT" --spring.jpa.show-sql=false ${APP_ARGS:-})
+EXEC_JAR=$(ls "$PWD"/target/simple-bookstore-*-exec.jar 2>/dev/null | head -1 || true)
+# The archive only maps when the jar is given by the same absolute path as in the training run
+CDS_JAR=$(ls "$PWD"/target/cds/simple-bookstore-*-cds.jar 2>/dev/null | head -1 || true)
+ARCHIVE=$PWD/target/cds/simple-bookstore.jsa
+
+command_for() {
+    case "$1" in
+        jar)     echo "$JAVA -jar $EXEC_JAR" ;;
+        plain)   echo "$JAVA -jar $CDS_JAR" ;;
+        cds)     echo "$JAVA -XX:SharedArchiveFile=$ARCHIVE -jar $CDS_JAR" ;;
+        cds-aot) echo "$JAVA -XX:SharedArchiveFile=$ARCHIVE -Dspring.aot.enabled=true -jar $CDS_JAR" ;;
+        *)       echo "Unknown variant: $1" >&2; exit 2 ;;
+    esac
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+run_once() {
+    local command=$1 log=$2
+    local started pid first rss ready
+    started=$(date +%s%N)
+    # shellcheck disable=SC2086
+    $command "${APP_ARGS[@]}" > "$log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/books"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited during startup, see $log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    first=$(( ($(date +%s%N) - started) / 1000000 ))
+    rss=$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    ready=$(grep -a -o 'Ready [0-9]* ms after JVM start' "$log" | awk '{ print $2 }')
+    echo "$ready $first $rss"
+}
+
+if [ -z "$EXEC_JAR" ] || [ -z "$CDS_JAR" ] || [ ! -f "$ARCHIVE" ]; then
+    echo "Build the variants first: mvn package -Pcds -DskipTests" >&2
+    exit 1
+fi
+
+LOG_DIR=$(mktemp -d)
+printf '%-8s %10s %10s %9s   (median of %d runs, logs in %s)\n' variant ready_ms first_ms rss_mb "$RUNS" "$LOG_DIR"
+for variant in "${VARIANTS[@]}"; do
+    command=$(command_for "$variant")
+    results=()
+    for run in $(seq 1 "$RUNS"); do
+        results+=("$(run_once "$command" "$LOG_DIR/$variant-$run.log")")
+    done
+    ready=$(printf '%s\n' "${results[@]}" | awk '{ print $1 }' | median)
+    first=$(printf '%s\n' "${results[@]}" | awk '{ print $2 }' | median)
+    rss=$(printf '%s\n' "${results[@]}" | awk '{ print $3 }' | median)
+    printf '%-8s %10s %10s %9s\n' "$variant" "$ready" "$first" "$rss"
+done
@@ -0,0 +1,45 @@
+package com.bookstore.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Takes the usual JMH command line and runs it once
+ * per thread count in {@code -Dthreads} (default {@code 1,4}), unless {@code -t} is given,
+ * with the GC profiler enabled so allocation rate and bytes per operation are reported.
+ * Results go to {@code jmh-result-<threads>t.json} unless {@code -rff} is given.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        int[] threadCounts = commandLine.getThreads().hasValue()
+                ? new int[]{commandLine.getThreads().get()}
+                : Arrays.stream(System.getProperty("threads", "1,4").split(",")).mapToInt(t -> Integer.parseInt(t.trim())).toArray();
+        for (int threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class);
+            if (!commandLine.getResult().hasValue()) {
+                options.resultFormat(ResultFormatType.JSON).result("jmh-result-" + threads + "t.json");
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.model.Book;
+import com.bookstore.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    @Benchmark
+    public List<Book> searchBooks(CatalogState catalog) {
+        List<String> terms = CatalogGenerator.SEARCH_TERMS;
+        return catalog.bean(BookService.class).searchBooks(terms.get(ThreadLocalRandom.current().nextInt(terms.size())));
+    }
+}
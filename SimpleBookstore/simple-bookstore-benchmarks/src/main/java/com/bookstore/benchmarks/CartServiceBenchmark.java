@@ -0,0 +1,65 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.model.CartItem;
+import com.bookstore.service.CartService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CartServiceBenchmark {
+
+    /**
+     * One cart per benchmark thread, refilled with {@code cartSize} distinct books before
+     * each iteration. {@code addToCart} adds to books already in the cart, so the cart
+     * keeps its size and every call takes the update path.
+     */
+    @State(Scope.Thread)
+    public static class Cart {
+
+        @Param({"1", "10", "50"})
+        public int cartSize;
+
+        private String sessionId;
+        private long[] bookIds;
+        private CartService cartService;
+
+        @Setup(Level.Iteration)
+        public void fill(CatalogState catalog) {
+            cartService = catalog.bean(CartService.class);
+            if (sessionId != null) {
+                cartService.clearCart(sessionId);
+            }
+            sessionId = "benchmark-" + UUID.randomUUID();
+            bookIds = CheckoutSupport.fillCart(cartService, catalog, sessionId, cartSize);
+        }
+    }
+
+    @Benchmark
+    public CartItem addToCart(Cart cart) {
+        long bookId = cart.bookIds[ThreadLocalRandom.current().nextInt(cart.bookIds.length)];
+        return cart.cartService.addToCart(cart.sessionId, bookId, 1);
+    }
+
+    @Benchmark
+    public Double calculateCartTotal(Cart cart) {
+        return cart.cartService.calculateCartTotal(cart.sessionId);
+    }
+}
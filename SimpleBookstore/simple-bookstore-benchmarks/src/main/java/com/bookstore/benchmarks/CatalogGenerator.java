@@ -0,0 +1,39 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.config.StagingCatalogGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Deterministic synthetic catalog in the CSV layout accepted by the bulk import, from
+ * {@link StagingCatalogGenerator} under the benchmarks' own seed. Titles and authors are
+ * drawn from small word lists so that {@link #SEARCH_TERMS} match a realistic share of
+ * the catalog rather than one row or all of them.
+ */
+final class CatalogGenerator {
+
+    static final List<String> SEARCH_TERMS = List.of("harbor", "silent", "nakamura", "winter", "library", "okafor", "glass");
+
+    // Stock large enough that no benchmark run sells out
+    private static final int STOCK = 1_000_000_000;
+
+    private static final long SEED = 42;
+    private static final String ISBN_PREFIX = "9781";
+
+    private CatalogGenerator() {
+    }
+
+    static byte[] csv(int books) {
+        StringWriter csv = new StringWriter(books * 140);
+        try {
+            StagingCatalogGenerator.write(csv, books, SEED, ISBN_PREFIX, STOCK);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.service.BookBulkService;
+import com.bookstore.service.BookImportResult;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The application context without the web server, on an in-memory H2 seeded with
+ * {@code catalogSize} books through the bulk import. One per fork, shared by all threads.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    @Param({"1000", "20000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private long[] bookIds;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = BenchmarkApplication.start();
+        BookImportResult seeded = bean(BookBulkService.class)
+                .importCsv(new ByteArrayInputStream(CatalogGenerator.csv(catalogSize)));
+        if (seeded.upserted() != catalogSize) {
+            throw new IllegalStateException("Seeded " + seeded.upserted() + " of " + catalogSize + " books: " + seeded.errors());
+        }
+        bookIds = bean(JdbcTemplate.class).queryForList("SELECT id FROM book ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long randomBookId() {
+        return bookIds[ThreadLocalRandom.current().nextInt(bookIds.length)];
+    }
+}
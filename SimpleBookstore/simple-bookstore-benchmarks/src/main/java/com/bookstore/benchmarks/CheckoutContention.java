@@ -0,0 +1,168 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.model.Book;
+import com.bookstore.repository.BookRepository;
+import com.bookstore.service.CartService;
+import com.bookstore.service.OrderService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flash-sale harness: {@code sessions} carts each holding {@code quantity} of one of
+ * {@code hot-books} titles are checked out through {@link OrderService#createOrder} by
+ * {@code threads} concurrent workers, all released at once. Every title starts with
+ * {@code stock} copies, so most checkouts are expected to be turned away.
+ * <p>
+ * Reports throughput, checkout latency percentiles, the failed-checkout rate and the
+ * stock audit. The audit compares, per title, the initial stock, the units in confirmed
+ * orders and the final stock. Oversold units (sold beyond the initial stock), negative
+ * stock and lost stock updates (final stock that does not equal initial minus sold) are
+ * all correctness failures, and the harness exits with status 1 when any is found.
+ * <pre>
+ * java -cp target/benchmarks.jar com.bookstore.benchmarks.CheckoutContention \
+ *     --sessions=5000 --threads=64 --hot-books=3 --stock=100 --quantity=1
+ * </pre>
+ */
+public final class CheckoutContention {
+
+    private final int sessions;
+    private final int threads;
+    private final int hotBooks;
+    private final int stock;
+    private final int quantity;
+
+    private CheckoutContention(Map<String, String> options) {
+        sessions = intOption(options, "sessions", 2000);
+        threads = intOption(options, "threads", 32);
+        hotBooks = intOption(options, "hot-books", 3);
+        stock = intOption(options, "stock", 100);
+        quantity = intOption(options, "quantity", 1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        boolean consistent;
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start()) {
+            consistent = new CheckoutContention(options).run(context);
+        }
+        System.exit(consistent ? 0 : 1);
+    }
+
+    private boolean run(ConfigurableApplicationContext context) throws Exception {
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        CartService cartService = context.getBean(CartService.class);
+        OrderService orderService = context.getBean(OrderService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < hotBooks; i++) {
+            Book book = bookRepository.save(new Book("Flash Sale Title " + i, "Hot Author", "978-FLASH-" + i, 19.99,
+                    "Contended title", stock));
+            bookIds.add(book.getId());
+        }
+        List<String> sessionIds = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            String sessionId = "flash-sale-" + i;
+            cartService.addToCart(sessionId, bookIds.get(ThreadLocalRandom.current().nextInt(hotBooks)), quantity);
+            sessionIds.add(sessionId);
+        }
+
+        System.out.printf("Checking out %d sessions on %d threads: %d hot titles, %d in stock each, %d per order%n",
+                sessions, threads, hotBooks, stock, quantity);
+        Recorder latencies = new Recorder(TimeUnit.SECONDS.toNanos(60), 3);
+        AtomicLong confirmed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        Map<String, AtomicLong> errorTypes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        List<Future<?>> checkouts = new ArrayList<>(sessions);
+        for (String sessionId : sessionIds) {
+            checkouts.add(workers.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                try {
+                    orderService.createOrder(sessionId, "Flash Buyer", sessionId + "@example.com", "1 Queue Street");
+                    confirmed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // The service reports a sold-out title as a plain RuntimeException
+                    if (String.valueOf(e.getMessage()).startsWith("Insufficient stock")) {
+                        rejected.incrementAndGet();
+                    } else {
+                        errors.incrementAndGet();
+                        errorTypes.computeIfAbsent(e.getClass().getSimpleName(), type -> new AtomicLong()).incrementAndGet();
+                    }
+                } finally {
+                    latencies.recordValue(System.nanoTime() - begin);
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> checkout : checkouts) {
+            checkout.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        workers.shutdown();
+
+        Histogram histogram = latencies.getIntervalHistogram();
+        System.out.printf("%nThroughput     %,.1f checkouts/s (%,.1f confirmed/s) over %.2f s%n",
+                sessions / seconds, confirmed.get() / seconds, seconds);
+        System.out.printf("Latency ms     p50 %.2f   p99 %.2f   p99.9 %.2f   max %.2f%n",
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        System.out.printf("Checkouts      %d confirmed, %d sold out, %d errors%s; failed-checkout rate %.1f%%%n",
+                confirmed.get(), rejected.get(), errors.get(), errorTypes.isEmpty() ? "" : " " + errorTypes,
+                100.0 * (rejected.get() + errors.get()) / sessions);
+        return audit(jdbcTemplate, bookIds);
+    }
+
+    private boolean audit(JdbcTemplate jdbcTemplate, List<Long> bookIds) {
+        long oversold = 0;
+        long lostUpdates = 0;
+        long negative = 0;
+        System.out.printf("%n%-8s %8s %8s %8s%n", "book", "initial", "sold", "final");
+        for (Long bookId : bookIds) {
+            long sold = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i "
+                    + "JOIN orders o ON o.id = i.order_id WHERE i.book_id = ? AND o.status = 'CONFIRMED'", Long.class, bookId);
+            long remaining = jdbcTemplate.queryForObject("SELECT stock_quantity FROM book WHERE id = ?", Long.class, bookId);
+            System.out.printf("%-8d %8d %8d %8d%n", bookId, stock, sold, remaining);
+            oversold += Math.max(0, sold - stock);
+            negative += remaining < 0 ? 1 : 0;
+            lostUpdates += stock - sold != remaining ? 1 : 0;
+        }
+        System.out.printf("%nOversold units %d%nNegative stock %d titles%nLost updates   %d titles%n", oversold, negative, lostUpdates);
+        return oversold == 0 && negative == 0 && lostUpdates == 0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.service.CartService;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+final class CheckoutSupport {
+
+    private CheckoutSupport() {
+    }
+
+    /**
+     * Adds {@code cartSize} distinct random books to the session's cart and returns their ids.
+     */
+    static long[] fillCart(CartService cartService, CatalogState catalog, String sessionId, int cartSize) {
+        Set<Long> bookIds = new LinkedHashSet<>();
+        while (bookIds.size() < cartSize) {
+            bookIds.add(catalog.randomBookId());
+        }
+        bookIds.forEach(bookId -> cartService.addToCart(sessionId, bookId, 1));
+        return bookIds.stream().mapToLong(Long::longValue).toArray();
+    }
+}
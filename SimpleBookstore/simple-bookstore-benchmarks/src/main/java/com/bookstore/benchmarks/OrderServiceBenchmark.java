@@ -0,0 +1,55 @@
+package com.bookstore.benchmarks;
+
+import com.bookstore.model.Order;
+import com.bookstore.service.CartService;
+import com.bookstore.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    /**
+     * A fresh cart of {@code cartSize} distinct books for every checkout. Filling it is
+     * per-invocation setup, so it is not part of the measured time.
+     */
+    @State(Scope.Thread)
+    public static class Checkout {
+
+        @Param({"1", "10", "50"})
+        public int cartSize;
+
+        private String sessionId;
+        private OrderService orderService;
+
+        @Setup(Level.Invocation)
+        public void fillCart(CatalogState catalog) {
+            orderService = catalog.bean(OrderService.class);
+            sessionId = "benchmark-" + UUID.randomUUID();
+            CheckoutSupport.fillCart(catalog.bean(CartService.class), catalog, sessionId, cartSize);
+        }
+    }
+
+    @Benchmark
+    public Order createOrder(Checkout checkout) {
+        return checkout.orderService.createOrder(checkout.sessionId, "Benchmark Customer", "benchmark@example.com",
+                "1 Benchmark Way");
+    }
+}
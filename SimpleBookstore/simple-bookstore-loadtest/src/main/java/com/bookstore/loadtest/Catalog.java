@@ -0,0 +1,36 @@
+package com.bookstore.loadtest;
+
+import com.bookstore.config.StagingCatalogGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Synthetic catalog in the CSV layout of the bulk import, generated by
+ * {@link StagingCatalogGenerator} with stock large enough that checkouts never sell out
+ * during a run. {@link #SEARCH_TERMS} each match a few percent of the titles or authors.
+ */
+final class Catalog {
+
+    static final List<String> SEARCH_TERMS = List.of("harbor", "silent", "winter", "library", "glass", "okafor", "ito");
+
+    private static final long SEED = 7;
+    private static final String ISBN_PREFIX = "9791";
+    private static final int STOCK = 1_000_000_000;
+
+    private Catalog() {
+    }
+
+    static byte[] csv(int books) {
+        StringWriter csv = new StringWriter(books * 140);
+        try {
+            StagingCatalogGenerator.write(csv, books, SEED, ISBN_PREFIX, STOCK);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookstore.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts, plus the same for whole visits under
+ * {@link #FLOW}. Recording is lock-free; {@link #reset()} drops what was recorded during
+ * the warm-up.
+ */
+final class LatencyStats {
+
+    static final String FLOW = "flow";
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+
+    LatencyStats(List<String> steps) {
+        for (String name : steps) {
+            add(name);
+        }
+        add(FLOW);
+    }
+
+    private void add(String name) {
+        recorders.put(name, new Recorder(HIGHEST_TRACKABLE, 3));
+        errors.put(name, new LongAdder());
+    }
+
+    void record(String name, long nanos, boolean ok) {
+        recorders.get(name).recordValue(Math.min(nanos, HIGHEST_TRACKABLE));
+        if (!ok) {
+            errors.get(name).increment();
+        }
+    }
+
+    void recordFlow(long nanos, boolean completed) {
+        record(FLOW, nanos, completed);
+    }
+
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Histograms of everything recorded since the last {@link #reset()}, in nanoseconds,
+     * keyed by endpoint with {@link #FLOW} last. Meant to be taken once, at the end of a run.
+     */
+    Map<String, Histogram> histograms() {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> histograms.put(name, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    long errors(String name) {
+        return errors.get(name).sum();
+    }
+}
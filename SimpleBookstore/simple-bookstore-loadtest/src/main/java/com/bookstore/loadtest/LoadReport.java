@@ -0,0 +1,97 @@
+package com.bookstore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of a run, written as {@code report.json} next to one {@code <endpoint>.hgrm}
+ * percentile distribution per endpoint. Latencies are in milliseconds. Two reports taken
+ * at the same rate can be compared with {@link #regressionsAgainst}.
+ */
+record LoadReport(double rate, String arrivals, long durationSeconds, long warmupSeconds,
+                  long scheduled, long dropped, Map<String, Endpoint> endpoints) {
+
+    // Differences below this are noise at any realistic p99, whatever the ratio
+    private static final double MIN_REGRESSION_MS = 2.0;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Endpoint(long count, long errors, double throughput, double meanMs, double p50Ms, double p90Ms,
+                    double p99Ms, double p999Ms, double maxMs) {
+
+        static Endpoint of(Histogram histogram, long errors, long seconds) {
+            return new Endpoint(histogram.getTotalCount(), errors, (double) histogram.getTotalCount() / seconds,
+                    millis(histogram.getMean()), millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    static LoadReport of(LoadTest.Options options, long scheduled, long dropped, LatencyStats stats,
+                         Map<String, Histogram> histograms) {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) ->
+                endpoints.put(name, Endpoint.of(histogram, stats.errors(name), options.duration())));
+        return new LoadReport(options.rate(), options.arrivals(), options.duration(), options.warmup(),
+                scheduled, dropped, endpoints);
+    }
+
+    void write(Path directory, Map<String, Histogram> histograms) throws IOException {
+        Files.createDirectories(directory);
+        objectMapper.writeValue(directory.resolve("report.json").toFile(), this);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(directory.resolve(entry.getKey() + ".hgrm").toFile())) {
+                entry.getValue().outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%.1f visits/s (%s) for %d s after %d s warm-up: %d scheduled, %d dropped%n",
+                rate, arrivals, durationSeconds, warmupSeconds, scheduled, dropped);
+        out.printf("%-12s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, e) -> out.printf("%-12s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, e.count(), e.errors(), e.throughput(), e.p50Ms(), e.p90Ms(), e.p99Ms(), e.p999Ms(), e.maxMs()));
+    }
+
+    /**
+     * Endpoints whose p99 grew by more than {@code tolerance} (0.1 = 10%) over the baseline
+     * report, ignoring differences under {@value #MIN_REGRESSION_MS} ms.
+     */
+    List<String> regressionsAgainst(Path baseline, double tolerance) throws IOException {
+        JsonNode previous = objectMapper.readTree(baseline.toFile());
+        if (previous.path("rate").asDouble() != rate) {
+            System.out.printf("Warning: baseline was taken at %.1f visits/s, this run at %.1f%n",
+                    previous.path("rate").asDouble(), rate);
+        }
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((name, endpoint) -> {
+            JsonNode before = previous.path("endpoints").path(name).path("p99Ms");
+            if (before.isNumber() && endpoint.p99Ms() > before.asDouble() * (1 + tolerance)
+                    && endpoint.p99Ms() - before.asDouble() >= MIN_REGRESSION_MS) {
+                regressions.add("%s p99 %.2f ms, baseline %.2f ms".formatted(name, endpoint.p99Ms(), before.asDouble()));
+            }
+        });
+        return regressions;
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
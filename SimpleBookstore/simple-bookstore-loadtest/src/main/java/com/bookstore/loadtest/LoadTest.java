@@ -0,0 +1,204 @@
+package com.bookstore.loadtest;
+
+import com.bookstore.SimpleBookstoreApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test: shopper visits ({@link ShopperFlow}) start at {@code rate} per
+ * second whether or not earlier ones have finished, the way independent users arrive.
+ * Arrivals are Poisson by default, or evenly spaced with {@code --arrivals=constant}.
+ * A visit that finds {@code max-in-flight} visits already running is dropped and counted,
+ * so an overloaded server shows up as drops and errors instead of a quietly lower rate.
+ * <p>
+ * Without {@code --base-url} the application is started in this JVM on a random port
+ * with an empty in-memory database. {@code --books} generated titles are imported first
+ * (0 uses the catalog as found). The report goes to {@code report-dir}; with
+ * {@code --baseline=<report.json>} the run fails (exit status 1) when any endpoint's p99
+ * regressed beyond {@code p99-tolerance}, or when more than {@code max-error-rate} of the
+ * visits failed or were dropped.
+ * <pre>
+ * java -jar target/loadtest.jar --rate=50 --duration=120
+ * java -jar target/loadtest.jar --base-url=http://localhost:8080 --books=0 --baseline=baseline/report.json
+ * </pre>
+ */
+public final class LoadTest {
+
+    record Options(String baseUrl, double rate, String arrivals, long duration, long warmup, int books,
+                   int maxInFlight, Path reportDir, Path baseline, double p99Tolerance, double maxErrorRate) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            String arrivals = values.getOrDefault("arrivals", "poisson");
+            if (!arrivals.equals("poisson") && !arrivals.equals("constant")) {
+                throw new IllegalArgumentException("arrivals must be poisson or constant, got " + arrivals);
+            }
+            return new Options(values.get("base-url"),
+                    Double.parseDouble(values.getOrDefault("rate", "20")),
+                    arrivals,
+                    Long.parseLong(values.getOrDefault("duration", "60")),
+                    Long.parseLong(values.getOrDefault("warmup", "10")),
+                    Integer.parseInt(values.getOrDefault("books", "1000")),
+                    Integer.parseInt(values.getOrDefault("max-in-flight", "1000")),
+                    Path.of(values.getOrDefault("report-dir", "target/loadtest")),
+                    values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+                    Double.parseDouble(values.getOrDefault("p99-tolerance", "0.10")),
+                    Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")));
+        }
+    }
+
+    private final Options options;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private LoadTest(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        boolean passed;
+        if (options.baseUrl() != null) {
+            passed = new LoadTest(options).run(options.baseUrl());
+        } else {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleBookstoreApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .logStartupInfo(false)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                            "--bookstore.seed.dataset=none",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN")) {
+                passed = new LoadTest(options).run("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(String baseUrl) throws Exception {
+        if (options.books() > 0) {
+            HttpResponse<String> imported = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/books/import"))
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(Catalog.csv(options.books())))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (imported.statusCode() != 200) {
+                throw new IllegalStateException("Catalog import failed: " + imported.statusCode() + " " + imported.body());
+            }
+        }
+        List<Long> bookIds = bookIds(baseUrl);
+        if (bookIds.isEmpty()) {
+            throw new IllegalStateException("No books in stock at " + baseUrl);
+        }
+
+        LatencyStats stats = new LatencyStats(ShopperFlow.STEPS);
+        ShopperFlow flow = new ShopperFlow(client, baseUrl, bookIds, stats);
+        System.out.printf("%.1f visits/s against %s, %d books, %d s warm-up + %d s%n",
+                options.rate(), baseUrl, bookIds.size(), options.warmup(), options.duration());
+
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        ExecutorService visitors = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "visitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmup());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.duration());
+        boolean measuring = false;
+        long scheduled = 0;
+        long dropped = 0;
+        for (long next = start; next < end; next += interval()) {
+            long delay;
+            while ((delay = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            if (!measuring && next >= measureFrom) {
+                stats.reset();
+                measuring = true;
+            }
+            scheduled += measuring ? 1 : 0;
+            long scheduledAt = next;
+            if (inFlight.tryAcquire()) {
+                visitors.execute(() -> {
+                    try {
+                        flow.run(scheduledAt);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else {
+                dropped += measuring ? 1 : 0;
+            }
+        }
+        if (!inFlight.tryAcquire(options.maxInFlight(), 60, TimeUnit.SECONDS)) {
+            System.out.println("Warning: visits still running 60 s after the last arrival");
+        }
+        visitors.shutdownNow();
+
+        Map<String, Histogram> histograms = stats.histograms();
+        LoadReport report = LoadReport.of(options, scheduled, dropped, stats, histograms);
+        report.write(options.reportDir(), histograms);
+        report.print(System.out);
+        System.out.println("Report written to " + options.reportDir().toAbsolutePath());
+        return passes(report);
+    }
+
+    private boolean passes(LoadReport report) throws Exception {
+        boolean passed = true;
+        LoadReport.Endpoint visits = report.endpoints().get(LatencyStats.FLOW);
+        double failed = report.scheduled() == 0 ? 0 : (double) (visits.errors() + report.dropped()) / report.scheduled();
+        if (failed > options.maxErrorRate()) {
+            System.out.printf("FAIL: %.2f%% of visits failed or were dropped, limit %.2f%%%n",
+                    100 * failed, 100 * options.maxErrorRate());
+            passed = false;
+        }
+        if (options.baseline() != null) {
+            List<String> regressions = report.regressionsAgainst(options.baseline(), options.p99Tolerance());
+            regressions.forEach(regression -> System.out.println("FAIL: " + regression));
+            passed &= regressions.isEmpty();
+        }
+        return passed;
+    }
+
+    private long interval() {
+        double mean = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        return options.arrivals().equals("constant")
+                ? (long) mean
+                : (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * mean);
+    }
+
+    private List<Long> bookIds(String baseUrl) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/books/available")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode book : new ObjectMapper().readTree(response.body())) {
+            ids.add(book.get("id").asLong());
+        }
+        return ids;
+    }
+}
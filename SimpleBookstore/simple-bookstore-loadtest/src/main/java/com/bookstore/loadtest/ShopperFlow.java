@@ -0,0 +1,92 @@
+package com.bookstore.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One shopper's visit: browse the catalog, search, add a book to the cart, view the cart
+ * and check out. The session cookie handed out by the add-to-cart call is carried by the
+ * remaining steps. A failed step ends the visit, since the later steps depend on it.
+ */
+final class ShopperFlow {
+
+    static final List<String> STEPS = List.of("browse", "search", "add-to-cart", "view-cart", "checkout");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<Long> bookIds;
+    private final LatencyStats stats;
+
+    ShopperFlow(HttpClient client, String baseUrl, List<Long> bookIds, LatencyStats stats) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.bookIds = bookIds;
+        this.stats = stats;
+    }
+
+    /**
+     * Runs one visit. Besides the per-endpoint latencies, the whole visit is recorded from
+     * {@code scheduledNanos}, its intended start, so time spent waiting for a free worker
+     * counts against the run rather than disappearing.
+     */
+    void run(long scheduledNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String term = Catalog.SEARCH_TERMS.get(random.nextInt(Catalog.SEARCH_TERMS.size()));
+        long bookId = bookIds.get(random.nextInt(bookIds.size()));
+
+        boolean completed = call("browse", get("/api/books").header("Accept-Encoding", "gzip"), null) != null
+                && call("search", get("/api/books/search?query=" + URLEncoder.encode(term, StandardCharsets.UTF_8)), null) != null;
+        String session = null;
+        if (completed) {
+            HttpResponse<?> added = call("add-to-cart",
+                    post("/api/cart", "{\"bookId\": %d, \"quantity\": 1}".formatted(bookId)), null);
+            session = added == null ? null : added.headers().firstValue("Set-Cookie").map(c -> c.split(";", 2)[0]).orElse(null);
+            completed = session != null;
+        }
+        completed = completed
+                && call("view-cart", get("/api/cart"), session) != null
+                && call("checkout", post("/api/orders", """
+                        {"customerName": "Load Test", "customerEmail": "shopper@loadtest.example", "customerAddress": "1 Load Street"}
+                        """), session) != null;
+        stats.recordFlow(System.nanoTime() - scheduledNanos, completed);
+    }
+
+    private HttpResponse<?> call(String step, HttpRequest.Builder request, String session) {
+        if (session != null) {
+            request.header("Cookie", session);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            boolean ok = response.statusCode() / 100 == 2;
+            stats.record(step, System.nanoTime() - start, ok);
+            return ok ? response : null;
+        } catch (IOException e) {
+            stats.record(step, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
@@ -1,13 +1,25 @@
 package com.bookstore;
 
+import com.bookstore.config.BookstoreRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(BookstoreRuntimeHints.class)
 public class SimpleBookstoreApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(SimpleBookstoreApplication.class, args);
+        SpringApplication application = new SpringApplication(SimpleBookstoreApplication.class);
+        // Records startup steps for StartupTimings and /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        ConfigurableApplicationContext context = application.run(args);
+        // The cds profile's class-archive training run stops once every ready listener has run
+        if (context.getEnvironment().getProperty("bookstore.startup.exit-after-ready", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
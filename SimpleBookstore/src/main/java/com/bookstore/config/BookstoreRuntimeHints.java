@@ -0,0 +1,53 @@
+package com.bookstore.config;
+
+import com.bookstore.model.Book;
+import com.bookstore.model.CartItem;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderItem;
+import com.bookstore.service.BookImportResult;
+import com.bookstore.service.BookUpdate;
+import com.bookstore.service.BookUpdateResult;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Native-image hints for what Spring's AOT processing cannot infer. Entities are
+ * serialized outside controller signatures (pre-encoded JSON, exports, NDJSON streams),
+ * datasource-proxy wraps JDBC objects in JDK proxies, the seed datasets and Ehcache
+ * configuration are loaded as resources, and virtual threads are looked up reflectively.
+ */
+public class BookstoreRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Book.class, Order.class, OrderItem.class, CartItem.class,
+                BookImportResult.class, BookUpdate.class, BookUpdateResult.class);
+
+        for (Class<?> jdbcType : List.of(DataSource.class, Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+        }
+
+        hints.resources()
+                .registerPattern("seed/*.csv.gz")
+                .registerPattern("ehcache.xml")
+                .registerPattern("ehcache-offheap.xml");
+
+        hints.reflection().registerType(TypeReference.of(Executors.class),
+                type -> type.withMethod("newVirtualThreadPerTaskExecutor", List.of(), ExecutableMode.INVOKE));
+    }
+}
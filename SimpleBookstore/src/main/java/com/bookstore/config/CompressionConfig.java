@@ -0,0 +1,24 @@
+package com.bookstore.config;
+
+import com.bookstore.web.Compression;
+import com.bookstore.web.CompressionFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compresses {@code /api/*} responses. Tomcat's own {@code server.compression} is left
+ * off: it only does gzip at a fixed level and cannot see the pre-encoded bodies.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(Compression compression) {
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(new CompressionFilter(compression));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
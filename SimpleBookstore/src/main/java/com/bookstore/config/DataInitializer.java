@@ -1,26 +1,60 @@
 package com.bookstore.config;
 
-import com.bookstore.model.Book;
 import com.bookstore.repository.BookRepository;
+import com.bookstore.service.BookBulkService;
+import com.bookstore.service.BookImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Seeds an empty catalog from {@code classpath:seed/<dataset>.csv.gz} through the bulk
+ * import, so even the staging-sized dataset goes in as batched inserts. The bundled
+ * datasets are {@code sample} (five classics) and {@code staging} (20,000 generated
+ * titles); {@code none} starts with an empty catalog.
+ */
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${bookstore.seed.dataset:sample}")
+    private String dataset = "sample";
+
     @Override
     public void run(String... args) throws Exception {
-        // Initialize sample books
-        if (bookRepository.count() == 0) {
-            bookRepository.save(new Book("The Great Gatsby", "F. Scott Fitzgerald", "978-0-7432-7356-5", 12.99, "A classic American novel about the Jazz Age.", 10));
-            bookRepository.save(new Book("To Kill a Mockingbird", "Harper Lee", "978-0-06-112008-4", 14.99, "A gripping tale of racial injustice and childhood innocence.", 8));
-            bookRepository.save(new Book("1984", "George Orwell", "978-0-452-28423-4", 13.99, "A dystopian social science fiction novel.", 15));
-            bookRepository.save(new Book("Pride and Prejudice", "Jane Austen", "978-0-14-143951-8", 11.99, "A romantic novel of manners.", 12));
-            bookRepository.save(new Book("The Catcher in the Rye", "J.D. Salinger", "978-0-316-76948-0", 13.49, "A controversial novel about teenage rebellion.", 6));
+        if ("none".equals(dataset) || bookRepository.count() > 0) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource("classpath:seed/" + dataset + ".csv.gz");
+        if (!resource.exists()) {
+            throw new IllegalStateException("Unknown seed dataset '" + dataset + "': " + resource.getDescription() + " not found");
+        }
+        long started = System.nanoTime();
+        BookImportResult result;
+        try (InputStream in = new GZIPInputStream(resource.getInputStream(), 64 * 1024)) {
+            result = bookBulkService.importCsv(in);
+        }
+        log.info("Seeded {} books from dataset '{}' in {} ms", result.upserted(), dataset, (System.nanoTime() - started) / 1_000_000);
+        if (result.rejected() > 0) {
+            log.warn("Seed dataset '{}' has {} invalid rows, first: {}", dataset, result.rejected(), result.errors().get(0));
         }
     }
 }
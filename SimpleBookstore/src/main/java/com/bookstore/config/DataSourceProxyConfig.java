@@ -0,0 +1,53 @@
+package com.bookstore.config;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListener;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the application's DataSource in a JDBC proxy when any JDBC listener beans
+ * are present. Only the bean named {@code dataSource} is wrapped, so the targets of
+ * the read-only routing DataSource are not instrumented twice. Result sets are only
+ * proxied when a {@link ResultSetProxyLogicFactory} bean asks for it, since every getter
+ * then goes through the proxy.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(
+            ObjectProvider<QueryExecutionListener> queryListeners,
+            ObjectProvider<JdbcLifecycleEventListener> lifecycleListeners,
+            ObjectProvider<ResultSetProxyLogicFactory> resultSetProxies) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                List<QueryExecutionListener> queries = queryListeners.orderedStream().toList();
+                List<JdbcLifecycleEventListener> lifecycles = lifecycleListeners.orderedStream().toList();
+                if (queries.isEmpty() && lifecycles.isEmpty()) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource);
+                queries.forEach(builder::listener);
+                lifecycles.forEach(builder::listener);
+                resultSetProxies.ifAvailable(builder::proxyResultSet);
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookstore.config;
+
+import com.bookstore.web.EndpointGroup;
+import com.bookstore.web.LoadSheddingFilter;
+import com.bookstore.web.LoadSheddingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Load shedding for the write endpoints of {@code /api/*}. The filter runs right after
+ * Spring Boot's HTTP observation filter, so rejected requests still show up in
+ * {@code http.server.requests} and traces but never reach the other filters, the
+ * controllers or the connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    @ConfigurationProperties("bookstore.load-shedding")
+    public LoadSheddingProperties loadSheddingProperties() {
+        return new LoadSheddingProperties();
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(LoadSheddingProperties properties,
+                                                                         MeterRegistry registry) {
+        List<EndpointGroup> groups = properties.getGroups().entrySet().stream()
+                .map(group -> EndpointGroup.of(group.getKey(), group.getValue()))
+                .toList();
+        FilterRegistrationBean<LoadSheddingFilter> registration =
+                new FilterRegistrationBean<>(new LoadSheddingFilter(groups, properties.getMaxAddresses(), registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookstore.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Observes every public method of the classes annotated with {@code @Observed} (the services)
+ * as {@code bookstore.service{class=...,method=...}}: a timer, and a span named
+ * {@code book-service#search-books} when tracing is on. HTTP endpoints are observed by Spring
+ * Boot as {@code http.server.requests}; SLO buckets for both are set in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry registry) {
+        return new ObservedAspect(registry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.bookstore.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to a separate read-only DataSource when
+ * {@code bookstore.datasource.read-only.url} is set. Without that property the
+ * default Spring Boot DataSource is used for everything.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bookstore.datasource.read-only", name = "url")
+public class ReadOnlyRoutingDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("bookstore.datasource.read-only")
+    public DataSourceProperties readOnlyDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource readWriteDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("bookstore.datasource.read-only.hikari")
+    public HikariDataSource readOnlyDataSource(
+            @Qualifier("readOnlyDataSourceProperties") DataSourceProperties readOnlyDataSourceProperties) {
+        HikariDataSource dataSource = readOnlyDataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // The routing key is only known once the transaction is fully set up, so the
+    // physical connection has to be fetched lazily on the first statement.
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("readWriteDataSource") DataSource readWriteDataSource,
+                                 @Qualifier("readOnlyDataSource") DataSource readOnlyDataSource) {
+        TransactionRoutingDataSource routingDataSource = new TransactionRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                Route.READ_WRITE, readWriteDataSource,
+                Route.READ_ONLY, readOnlyDataSource));
+        routingDataSource.setDefaultTargetDataSource(readWriteDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    enum Route { READ_WRITE, READ_ONLY }
+
+    static class TransactionRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ_ONLY : Route.READ_WRITE;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.bookstore.config;
+
+import com.bookstore.monitoring.EntityLoadCounter;
+import com.bookstore.monitoring.SqlAccountingFilter;
+import com.bookstore.monitoring.SqlAccountingListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL accounting for {@code /api/*}. The listener is picked up by
+ * {@link DataSourceProxyConfig}, which also lets it proxy result sets to count rows.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.sql.accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    @Bean
+    public SqlAccountingListener sqlAccountingListener() {
+        return new SqlAccountingListener();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCounter() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            MeterRegistry registry,
+            @Value("${bookstore.sql.accounting.alert:false}") boolean alert,
+            @Value("${bookstore.sql.accounting.statement-budget:20}") int statementBudget) {
+        FilterRegistrationBean<SqlAccountingFilter> registration =
+                new FilterRegistrationBean<>(new SqlAccountingFilter(registry, alert, statementBudget));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
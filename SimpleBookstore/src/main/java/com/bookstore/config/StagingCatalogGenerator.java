@@ -0,0 +1,161 @@
+package com.bookstore.config;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the {@code staging} seed dataset: the {@code sample} classics followed by
+ * generated titles, in the CSV layout of the bulk import. The output depends only on
+ * the book count, so every build produces the same catalog. Run by the build in the
+ * {@code process-classes} phase:
+ * <pre>
+ * java -cp target/classes com.bookstore.config.StagingCatalogGenerator target/classes/seed/staging.csv.gz 20000
+ * </pre>
+ * The benchmarks and the load test generate their catalogs with
+ * {@link #write(Writer, int, long, String, int)}, under their own seed and ISBN prefix.
+ */
+public final class StagingCatalogGenerator {
+
+    static final int DEFAULT_BOOKS = 20_000;
+
+    /**
+     * Stock argument for {@link #write(Writer, int, long, String, int)} that draws each
+     * book's stock at random, with about one in ten sold out.
+     */
+    public static final int VARIED_STOCK = -1;
+
+    private static final String HEADER = "title,author,isbn,price,stock_quantity,description";
+    private static final long SEED = 20_000L;
+    // 978-0-00, which the sample titles do not use
+    private static final String STAGING_ISBN_PREFIX = "9780";
+
+    private static final String[] ADJECTIVES = {"Silent", "Hidden", "Broken", "Golden", "Last", "Forgotten", "Distant",
+            "Burning", "Quiet", "Wild", "Secret", "Crimson", "Lost", "Endless", "Northern", "Winter", "Midnight", "Hollow",
+            "Bright", "Iron", "Paper", "Glass", "Velvet", "Salt", "Ashen"};
+    private static final String[] NOUNS = {"River", "Garden", "Empire", "House", "Kingdom", "Season", "Letter", "Shore",
+            "Machine", "Orchard", "Harbor", "Storm", "Library", "Island", "Mountain", "Engine", "Lantern", "Bridge", "Voyage",
+            "Promise", "Archive", "Forest", "Cathedral", "Atlas", "Compass"};
+    private static final String[] SUBTITLES = {"", "", "", ": A Novel", ": Stories", ": A History", " and Other Essays"};
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Clara", "David", "Elena", "Farid", "Grace", "Hiro",
+            "Isabel", "Jonas", "Kemi", "Liam", "Maya", "Nikolai", "Olga", "Priya", "Quentin", "Rosa", "Samuel", "Tomoko",
+            "Ximena", "Zoe"};
+    private static final String[] LAST_NAMES = {"Adler", "Brooks", "Castillo", "Dubois", "Eriksen", "Fischer", "Gupta",
+            "Hayes", "Ito", "Jensen", "Kowalski", "Laurent", "Moreau", "Nakamura", "Okafor", "Petrov", "Quinn", "Rossi",
+            "Silva", "Xu", "Yilmaz", "Zimmer"};
+    private static final String[] TONES = {"quiet", "tender", "sweeping", "restless", "meticulous", "playful"};
+    private static final String[] GENRES = {"novel", "mystery", "memoir", "history", "thriller", "field guide",
+            "fantasy saga", "cookbook"};
+
+    private StagingCatalogGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: StagingCatalogGenerator <output.csv.gz> [books]");
+        }
+        Path output = Path.of(args[0]);
+        int books = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BOOKS;
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(output)), StandardCharsets.UTF_8))) {
+            write(books, out);
+        }
+    }
+
+    /**
+     * Writes the header, the sample rows and generated rows until there are
+     * {@code books} rows in total.
+     */
+    static void write(int books, Writer out) throws IOException {
+        String[] sample = sampleLines();
+        out.write(sample[0]);
+        out.write("\r\n");
+        int rows = 0;
+        for (int i = 1; i < sample.length && rows < books; i++, rows++) {
+            out.write(sample[i]);
+            out.write("\r\n");
+        }
+        writeRows(out, books - rows, new Random(SEED), STAGING_ISBN_PREFIX, VARIED_STOCK);
+    }
+
+    /**
+     * Writes the header and {@code books} generated rows. The rows depend only on the
+     * arguments. ISBNs are {@code isbnPrefix}, four digits such as {@code 9781} for
+     * 978-1, followed by the row number and a valid check digit. {@code stock} is the
+     * stock of every book, or {@link #VARIED_STOCK}.
+     */
+    public static void write(Writer out, int books, long seed, String isbnPrefix, int stock) throws IOException {
+        if (!isbnPrefix.matches("97[89]\\d")) {
+            throw new IllegalArgumentException("ISBN prefix must be 978 or 979 and a group digit, got " + isbnPrefix);
+        }
+        out.write(HEADER);
+        out.write("\r\n");
+        writeRows(out, books, new Random(seed), isbnPrefix, stock);
+    }
+
+    private static void writeRows(Writer out, int books, Random random, String isbnPrefix, int stock) throws IOException {
+        for (int i = 0; i < books; i++) {
+            out.write(row(random, i, isbnPrefix, stock));
+            out.write("\r\n");
+        }
+    }
+
+    private static String row(Random random, int index, String isbnPrefix, int stock) {
+        String title = (random.nextBoolean() ? "The " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS)
+                : pick(random, ADJECTIVES) + " " + plural(pick(random, NOUNS))) + pick(random, SUBTITLES);
+        String author = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+        double price = 4.99 + random.nextInt(56);
+        int varied = random.nextInt(10) == 0 ? 0 : random.nextInt(150);
+        String description = "A " + pick(random, TONES) + " " + pick(random, GENRES) + " about "
+                + plural(pick(random, NOUNS)).toLowerCase(Locale.ROOT) + ", "
+                + plural(pick(random, NOUNS)).toLowerCase(Locale.ROOT) + " and what remains.";
+        return String.join(",", quote(title), author, isbn(isbnPrefix, index), String.format(Locale.ROOT, "%.2f", price),
+                Integer.toString(stock == VARIED_STOCK ? varied : stock), quote(description));
+    }
+
+    // ISBN-13 with a valid check digit, e.g. 978-0-0000-0042-x for prefix 9780 and index 42
+    private static String isbn(String prefix, int index) {
+        String digits = prefix + String.format(Locale.ROOT, "%08d", index);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        int check = (10 - sum % 10) % 10;
+        return digits.substring(0, 3) + "-" + digits.charAt(3) + "-" + digits.substring(4, 8) + "-"
+                + digits.substring(8) + "-" + check;
+    }
+
+    private static String plural(String noun) {
+        if (noun.endsWith("y")) {
+            return noun.substring(0, noun.length() - 1) + "ies";
+        }
+        return noun.endsWith("s") ? noun + "es" : noun + "s";
+    }
+
+    private static String quote(String value) {
+        return value.indexOf(',') < 0 && value.indexOf('"') < 0 ? value : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String[] sampleLines() throws IOException {
+        try (InputStream in = StagingCatalogGenerator.class.getResourceAsStream("/seed/sample.csv.gz")) {
+            if (in == null) {
+                throw new IllegalStateException("seed/sample.csv.gz not found on the classpath");
+            }
+            return new String(new GZIPInputStream(in).readAllBytes(), StandardCharsets.UTF_8).split("\r?\n");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bookstore.config;
+
+import com.bookstore.monitoring.JdbcTracingListener;
+import com.bookstore.monitoring.OtlpJsonFileSpanExporter;
+import com.bookstore.monitoring.RecentSpans;
+import io.micrometer.common.KeyValue;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Span exporters and JDBC spans on top of Spring Boot's OpenTelemetry tracing. Spring
+ * Boot traces HTTP requests and, through {@link MetricsConfig}, the service methods, and
+ * hands every {@code SpanExporter} bean to one batch span processor. No exporter needs a
+ * collector: {@link RecentSpans} keeps the latest spans in memory for
+ * {@code /actuator/traces}, and with {@code bookstore.tracing.file.enabled} they are also
+ * appended to an OTLP/JSON file. What share of requests is traced is set by
+ * {@code management.tracing.sampling.probability}. Request spans record the matched URI
+ * template as {@code http.url} instead of the request path, which holds ids and customer
+ * email addresses.
+ */
+@Configuration
+@ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public JdbcTracingListener jdbcTracingListener(Tracer tracer) {
+        return new JdbcTracingListener(tracer);
+    }
+
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            protected KeyValue httpUrl(ServerRequestObservationContext context) {
+                return KeyValue.of("http.url", uri(context).getValue());
+            }
+        };
+    }
+
+    @Bean
+    public RecentSpans recentSpans(@Value("${bookstore.tracing.recent-spans:2000}") int capacity) {
+        return new RecentSpans(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bookstore.tracing.file.enabled", havingValue = "true")
+    public OtlpJsonFileSpanExporter otlpJsonFileSpanExporter(
+            @Value("${bookstore.tracing.file.path}") Path file,
+            @Value("${bookstore.tracing.file.max-size:100MB}") DataSize maxSize) {
+        return new OtlpJsonFileSpanExporter(file, maxSize.toBytes());
+    }
+}
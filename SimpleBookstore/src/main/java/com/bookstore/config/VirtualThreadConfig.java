@@ -0,0 +1,70 @@
+package com.bookstore.config;
+
+import com.bookstore.monitoring.JdbcPinningGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling and the application task executor on virtual threads
+ * when {@code bookstore.threads.virtual=true}. Requires a Java 21 runtime (build with
+ * {@code -Pjava21}); the executor is looked up reflectively so the default Java 17
+ * build still compiles.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    // H2 and most JDBC drivers block inside synchronized blocks, which pins the carrier
+    // thread. When configured, cap how many virtual threads are inside a driver call at once
+    // so some carriers stay free; waiting for a permit fails after the pool's acquire timeout.
+    @Bean
+    @ConditionalOnProperty(name = "bookstore.threads.virtual.max-concurrent-jdbc")
+    public JdbcPinningGuard jdbcPinningGuard(@Value("${bookstore.threads.virtual.max-concurrent-jdbc}") int maxConcurrentJdbc,
+                                             @Value("${spring.datasource.hikari.connection-timeout:30000}") long timeoutMillis) {
+        log.info("Virtual-thread mode: at most {} of {} carrier threads may be inside a JDBC driver call at once",
+                maxConcurrentJdbc, carrierParallelism());
+        return new JdbcPinningGuard(maxConcurrentJdbc, Duration.ofMillis(timeoutMillis));
+    }
+
+    static int carrierParallelism() {
+        String parallelism = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        return parallelism != null ? Integer.parseInt(parallelism) : Runtime.getRuntime().availableProcessors();
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("bookstore.threads.virtual=true requires Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual-thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.bookstore.controller;
+
+import com.bookstore.service.BookBulkService;
+import com.bookstore.service.BookImportResult;
+import com.bookstore.service.BookUpdate;
+import com.bookstore.service.BookUpdateResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/books")
+@CrossOrigin(origins = "*")
+public class BookBulkController {
+
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<BookImportResult> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(bookBulkService.importNdjson(body));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<BookImportResult> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(bookBulkService.importCsv(body));
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<BookUpdateResult> updateBooks(@RequestBody List<BookUpdate> updates) {
+        return ResponseEntity.ok(bookBulkService.updateBooks(updates));
+    }
+}
@@ -2,11 +2,24 @@ package com.bookstore.controller;
 
 import com.bookstore.model.Book;
 import com.bookstore.service.BookService;
+import com.bookstore.service.CatalogVersions;
+import com.bookstore.service.ExportFormat;
+import com.bookstore.service.ExportService;
+import com.bookstore.web.BookJsonCache;
+import com.bookstore.web.Compression;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/books")
@@ -16,25 +29,54 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private BookJsonCache bookJsonCache;
+
+    @Autowired
+    private Compression compression;
+
+    @Autowired
+    private ExportService exportService;
+
     @GetMapping
-    public List<Book> getAllBooks() {
-        return bookService.getAllBooks();
+    public ResponseEntity<byte[]> getAllBooks(WebRequest request) {
+        return cachedJson(request, "books", catalogVersions.catalog(), () -> Optional.of(bookService.getAllBooks()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable Long id) {
-        Optional<Book> book = bookService.getBookById(id);
-        return book.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getBookById(@PathVariable Long id, WebRequest request) {
+        return cachedJson(request, "book:" + id, catalogVersions.book(id), () -> bookService.getBookById(id));
     }
 
     @GetMapping("/search")
-    public List<Book> searchBooks(@RequestParam(required = false) String query) {
-        return bookService.searchBooks(query);
+    public ResponseEntity<List<Book>> searchBooks(@RequestParam(required = false) String query, WebRequest request) {
+        CatalogVersions.Stamp stamp = catalogVersions.catalog();
+        Optional<String> notModified = notModified(request, stamp);
+        if (notModified.isPresent()) {
+            return validated(ResponseEntity.status(HttpStatus.NOT_MODIFIED), stamp, notModified.get()).build();
+        }
+        return validated(ResponseEntity.ok(), stamp, stamp.etag()).body(bookService.searchBooks(query));
     }
 
     @GetMapping("/available")
-    public List<Book> getAvailableBooks() {
-        return bookService.getAvailableBooks();
+    public ResponseEntity<byte[]> getAvailableBooks(WebRequest request) {
+        return cachedJson(request, "books:available", catalogVersions.catalog(), () -> Optional.of(bookService.getAvailableBooks()));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "json") String format) {
+        Optional<ExportFormat> exportFormat = ExportFormat.fromParameter(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.get().getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("books." + exportFormat.get().getExtension()).build().toString())
+                .body(out -> exportService.exportBooks(exportFormat.get(), out));
     }
 
     @PostMapping
@@ -44,18 +86,9 @@ public class BookController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Book> updateBook(@PathVariable Long id, @RequestBody Book bookDetails) {
-        Optional<Book> bookOpt = bookService.getBookById(id);
-        if (bookOpt.isPresent()) {
-            Book book = bookOpt.get();
-            book.setTitle(bookDetails.getTitle());
-            book.setAuthor(bookDetails.getAuthor());
-            book.setIsbn(bookDetails.getIsbn());
-            book.setPrice(bookDetails.getPrice());
-            book.setDescription(bookDetails.getDescription());
-            book.setStockQuantity(bookDetails.getStockQuantity());
-            return ResponseEntity.ok(bookService.saveBook(book));
-        }
-        return ResponseEntity.notFound().build();
+        return bookService.updateBook(id, bookDetails)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -66,4 +99,48 @@ public class BookController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    // The stamp is taken before the query runs, so a concurrent change can only make the
+    // ETag older than the body, never newer. Clients must revalidate on every use.
+    private ResponseEntity<byte[]> cachedJson(WebRequest request, String key, CatalogVersions.Stamp stamp,
+                                              Supplier<Optional<?>> loader) {
+        Optional<String> notModified = notModified(request, stamp);
+        if (notModified.isPresent()) {
+            return validated(ResponseEntity.status(HttpStatus.NOT_MODIFIED), stamp, notModified.get()).build();
+        }
+        return bookJsonCache.get(key, stamp.etag(), loader)
+                .map(json -> {
+                    Optional<String> encoding = json.isCompressible()
+                            ? compression.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                            : Optional.empty();
+                    return encoding
+                            .map(name -> validated(ResponseEntity.ok(), stamp, Compression.etag(stamp.etag(), name))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                                    .header(HttpHeaders.CONTENT_ENCODING, name)
+                                    .body(json.encoded(name)))
+                            .orElseGet(() -> validated(ResponseEntity.ok(), stamp, stamp.etag())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                                    .body(json.bytes()));
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Each content coding has its own strong ETag, and a client may hold any of them. The
+    // 304 repeats the tag the client sent so its cached variant stays current.
+    private static Optional<String> notModified(WebRequest request, CatalogVersions.Stamp stamp) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return Compression.matchIfNoneMatch(ifNoneMatch, stamp.etag());
+        }
+        return request.checkNotModified(stamp.lastModified().toEpochMilli()) ? Optional.of(stamp.etag()) : Optional.empty();
+    }
+
+    private static ResponseEntity.BodyBuilder validated(ResponseEntity.BodyBuilder builder, CatalogVersions.Stamp stamp,
+                                                        String etag) {
+        return builder.cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(stamp.lastModified());
+    }
 }
@@ -1,10 +1,15 @@
 package com.bookstore.controller;
 
 import com.bookstore.model.Order;
+import com.bookstore.service.ExportFormat;
+import com.bookstore.service.ExportService;
 import com.bookstore.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.servlet.http.HttpSession;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +22,9 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private ExportService exportService;
+
     @PostMapping
     public ResponseEntity<Order> createOrder(@RequestBody OrderRequest request, HttpSession session) {
         try {
@@ -37,6 +45,19 @@ public class OrderController {
         return orderService.getAllOrders();
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "json") String format) {
+        Optional<ExportFormat> exportFormat = ExportFormat.fromParameter(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.get().getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + exportFormat.get().getExtension()).build().toString())
+                .body(out -> exportService.exportOrders(exportFormat.get(), out));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
         Optional<Order> order = orderService.getOrderById(id);
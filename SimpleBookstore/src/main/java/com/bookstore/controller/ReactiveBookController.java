@@ -0,0 +1,40 @@
+package com.bookstore.controller;
+
+import com.bookstore.model.Book;
+import com.bookstore.service.BookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Non-blocking catalog reads. The request thread is released as soon as the handler returns;
+// the lists are NDJSON only and written book by book as pages arrive. A JSON array would make
+// Spring MVC collect the whole Flux first; use /api/books or the catalog export for that.
+@RestController
+@RequestMapping("/api/reactive/books")
+@CrossOrigin(origins = "*")
+public class ReactiveBookController {
+
+    @Autowired
+    private BookService bookService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Book> getAllBooks() {
+        return bookService.streamAllBooks();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Book>> getBookById(@PathVariable Long id) {
+        return Mono.fromCallable(() -> bookService.getBookById(id))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(book -> book.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Book> searchBooks(@RequestParam(required = false) String query) {
+        return bookService.streamSearchBooks(query);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookstore.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(BookSearchEvent.NAME)
+@Label("Book Search")
+@Category({"Bookstore", "Catalog"})
+@Description("BookService.searchBooks; a blank query lists the whole catalog")
+@StackTrace(false)
+public class BookSearchEvent extends Event {
+
+    public static final String NAME = "com.bookstore.BookSearch";
+
+    @Label("Query Length")
+    public int queryLength;
+
+    @Label("Hits")
+    public int hits;
+}
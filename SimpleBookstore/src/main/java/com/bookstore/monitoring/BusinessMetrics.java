@@ -0,0 +1,51 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for checkout outcomes: {@code bookstore.orders.created} and
+ * {@code bookstore.checkout.failures{reason=...}}. The counters are registered up front,
+ * so counting an event is a single striped add with no registry lookup.
+ */
+@Component
+public class BusinessMetrics {
+
+    private final Counter ordersCreated;
+    private final Counter emptyCart;
+    private final Counter insufficientStock;
+    private final Counter bookNotFound;
+
+    public BusinessMetrics(MeterRegistry registry) {
+        ordersCreated = Counter.builder("bookstore.orders.created")
+                .description("Orders placed successfully")
+                .register(registry);
+        emptyCart = failures(registry, "empty_cart");
+        insufficientStock = failures(registry, "insufficient_stock");
+        bookNotFound = failures(registry, "book_not_found");
+    }
+
+    private static Counter failures(MeterRegistry registry, String reason) {
+        return Counter.builder("bookstore.checkout.failures")
+                .tag("reason", reason)
+                .description("Checkouts rejected before an order was placed")
+                .register(registry);
+    }
+
+    public void orderCreated() {
+        ordersCreated.increment();
+    }
+
+    public void emptyCart() {
+        emptyCart.increment();
+    }
+
+    public void insufficientStock() {
+        insufficientStock.increment();
+    }
+
+    public void bookNotFound() {
+        bookNotFound.increment();
+    }
+}
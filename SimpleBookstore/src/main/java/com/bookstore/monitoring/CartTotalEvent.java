@@ -0,0 +1,24 @@
+package com.bookstore.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(CartTotalEvent.NAME)
+@Label("Cart Total")
+@Category({"Bookstore", "Cart"})
+@Description("CartService.calculateCartTotal")
+@StackTrace(false)
+public class CartTotalEvent extends Event {
+
+    public static final String NAME = "com.bookstore.CartTotal";
+
+    @Label("Cart Items")
+    public int cartItems;
+
+    @Label("Total")
+    public double total;
+}
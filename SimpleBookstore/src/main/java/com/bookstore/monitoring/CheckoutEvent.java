@@ -0,0 +1,46 @@
+package com.bookstore.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name(CheckoutEvent.NAME)
+@Label("Checkout")
+@Category({"Bookstore", "Orders"})
+@Description("OrderService.createOrder, up to the completion of its transaction")
+@StackTrace(false)
+public class CheckoutEvent extends Event {
+
+    public static final String NAME = "com.bookstore.Checkout";
+
+    @Label("Cart Items")
+    public int cartItems;
+
+    @Label("Units")
+    public int units;
+
+    @Label("Stock Validation")
+    @Description("Loading the books in the cart and checking their stock")
+    @Timespan
+    public long stockValidation;
+
+    @Label("Persist")
+    @Description("Saving the order, updating stock and clearing the cart, before the commit")
+    @Timespan
+    public long persist;
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Outcome")
+    @Description("COMMITTED, ROLLED_BACK, or why the checkout failed: EMPTY_CART, INSUFFICIENT_STOCK, BOOK_NOT_FOUND or FAILED")
+    public String outcome;
+
+    @Label("Detail")
+    @Description("Message of the exception that failed the checkout")
+    public String detail;
+}
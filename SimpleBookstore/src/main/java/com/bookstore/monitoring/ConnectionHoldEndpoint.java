@@ -0,0 +1,34 @@
+package com.bookstore.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/connections}: connections currently checked out of the pool and
+ * the longest hold seen, each with the stack that acquired it.
+ */
+@Component
+@Endpoint(id = "connections")
+@ConditionalOnProperty(name = "bookstore.datasource.leak-detection.enabled", havingValue = "true")
+public class ConnectionHoldEndpoint {
+
+    @Autowired
+    private ConnectionHoldTracker tracker;
+
+    @ReadOperation
+    public Map<String, Object> connections() {
+        List<ConnectionHoldTracker.ConnectionHold> open = tracker.getOpenConnections();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("openCount", open.size());
+        result.put("longestHold", tracker.getLongestHold().orElse(null));
+        result.put("open", open);
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Leak detector for pooled connections. Remembers where every checked-out connection
+ * was acquired and keeps the acquisition stack of the longest hold seen so far.
+ * Capturing a stack per checkout costs a few microseconds, so this is switched on
+ * with {@code bookstore.datasource.leak-detection.enabled}.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.datasource.leak-detection.enabled", havingValue = "true")
+public class ConnectionHoldTracker extends JdbcLifecycleEventListenerAdapter implements MeterBinder {
+
+    private static final int MAX_FRAMES = 40;
+
+    private final Map<String, Hold> openConnections = new ConcurrentHashMap<>();
+    private final AtomicReference<ConnectionHold> longestHold = new AtomicReference<>();
+
+    @Override
+    public void afterGetConnection(MethodExecutionContext executionContext) {
+        if (executionContext.getThrown() == null && executionContext.getConnectionInfo() != null) {
+            openConnections.put(executionContext.getConnectionInfo().getConnectionId(),
+                    new Hold(Thread.currentThread().getName(), Instant.now(), System.nanoTime(), new Throwable()));
+        }
+    }
+
+    @Override
+    public void afterClose(MethodExecutionContext executionContext) {
+        if (!(executionContext.getTarget() instanceof Connection) || executionContext.getConnectionInfo() == null) {
+            return;
+        }
+        Hold hold = openConnections.remove(executionContext.getConnectionInfo().getConnectionId());
+        if (hold != null) {
+            ConnectionHold released = hold.toConnectionHold(System.nanoTime());
+            longestHold.accumulateAndGet(released,
+                    (current, candidate) -> current == null || candidate.heldMillis() > current.heldMillis() ? candidate : current);
+        }
+    }
+
+    public List<ConnectionHold> getOpenConnections() {
+        long now = System.nanoTime();
+        return openConnections.values().stream()
+                .map(hold -> hold.toConnectionHold(now))
+                .sorted(Comparator.comparingLong(ConnectionHold::heldMillis).reversed())
+                .toList();
+    }
+
+    /**
+     * The longest hold overall: either a connection that is still checked out or the
+     * longest one released since startup.
+     */
+    public Optional<ConnectionHold> getLongestHold() {
+        ConnectionHold released = longestHold.get();
+        Optional<ConnectionHold> open = getOpenConnections().stream().findFirst();
+        if (open.isPresent() && (released == null || open.get().heldMillis() > released.heldMillis())) {
+            return open;
+        }
+        return Optional.ofNullable(released);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bookstore.datasource.connections.oldest.hold", this, ConnectionHoldTracker::oldestOpenHoldSeconds)
+                .baseUnit("seconds")
+                .description("How long the oldest currently checked-out connection has been held")
+                .register(registry);
+    }
+
+    private double oldestOpenHoldSeconds() {
+        long now = System.nanoTime();
+        return openConnections.values().stream()
+                .mapToLong(hold -> now - hold.acquiredNanos())
+                .max()
+                .orElse(0L) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record Hold(String thread, Instant acquiredAt, long acquiredNanos, Throwable acquiredFrom) {
+
+        ConnectionHold toConnectionHold(long nowNanos) {
+            List<String> stack = Arrays.stream(acquiredFrom.getStackTrace())
+                    .dropWhile(Hold::isInstrumentationFrame)
+                    .limit(MAX_FRAMES)
+                    .map(StackTraceElement::toString)
+                    .toList();
+            return new ConnectionHold(thread, acquiredAt,
+                    Duration.ofNanos(nowNanos - acquiredNanos).toMillis(), stack);
+        }
+
+        private static boolean isInstrumentationFrame(StackTraceElement frame) {
+            String className = frame.getClassName();
+            return className.startsWith(ConnectionHoldTracker.class.getName())
+                    || className.startsWith("net.ttddyy.dsproxy.")
+                    || className.startsWith("jdk.internal.reflect.")
+                    || className.startsWith("java.lang.reflect.");
+        }
+    }
+
+    public record ConnectionHold(String thread, Instant acquiredAt, long heldMillis, List<String> acquiredFrom) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookstore.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Continuous Flight Recorder recording with the JDK's {@code default} settings (about
+ * 1% overhead) plus the bookstore events, kept on disk for {@code max-age} or up to
+ * {@code max-size}. Checkouts are always recorded; searches and cart totals only when
+ * they take at least {@code threshold}. The environment variable and system property
+ * events are left out, since they routinely carry credentials. {@link #dump()} writes
+ * what is currently retained to a new file in {@code dump-directory}.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.jfr.enabled", havingValue = "true")
+public class FlightRecording implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecording.class);
+    private static final DateTimeFormatter DUMP_NAME = DateTimeFormatter.ofPattern("'bookstore-'yyyyMMdd-HHmmss-SSS");
+
+    private final Recording recording;
+    private final Path dumpDirectory;
+    private final AtomicInteger dumps = new AtomicInteger();
+
+    public FlightRecording(@Value("${bookstore.jfr.max-age:6h}") Duration maxAge,
+                           @Value("${bookstore.jfr.max-size:250MB}") DataSize maxSize,
+                           @Value("${bookstore.jfr.threshold:10ms}") Duration threshold,
+                           @Value("${bookstore.jfr.dump-directory:${java.io.tmpdir}}") Path dumpDirectory)
+            throws IOException, ParseException {
+        this.dumpDirectory = dumpDirectory;
+        recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("bookstore");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.disable("jdk.InitialEnvironmentVariable");
+        recording.disable("jdk.InitialSystemProperty");
+        recording.enable(CheckoutEvent.NAME).withoutThreshold();
+        recording.enable(BookSearchEvent.NAME).withThreshold(threshold);
+        recording.enable(CartTotalEvent.NAME).withThreshold(threshold);
+        recording.start();
+        log.info("Flight recording started, keeping {} or {}", maxAge, maxSize);
+    }
+
+    public Recording getRecording() {
+        return recording;
+    }
+
+    public Path getDumpDirectory() {
+        return dumpDirectory;
+    }
+
+    /**
+     * Writes the data retained so far to a new file and returns its path. The recording
+     * keeps running. File names carry the time and a sequence number, so dumps taken in
+     * the same millisecond do not overwrite each other.
+     */
+    public synchronized Path dump() {
+        try {
+            Files.createDirectories(dumpDirectory);
+            Path file = dumpDirectory.resolve(LocalDateTime.now().format(DUMP_NAME) + "-" + dumps.incrementAndGet() + ".jfr");
+            recording.dump(file);
+            log.info("Flight recording dumped to {}", file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        recording.close();
+    }
+}
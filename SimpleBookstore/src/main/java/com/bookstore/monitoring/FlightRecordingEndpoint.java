@@ -0,0 +1,50 @@
+package com.bookstore.monitoring;
+
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/flightrecording}: GET describes the continuous recording, POST dumps
+ * it and returns the {@code .jfr} file, which is also kept in the dump directory.
+ * A dump carries JVM arguments, thread names and stacks, so the endpoint is only exposed
+ * by the {@code jfr} profile, on the localhost management port:
+ * <pre>
+ * curl -X POST -o hiccup.jfr http://localhost:8082/actuator/flightrecording
+ * </pre>
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+@ConditionalOnProperty(name = "bookstore.jfr.enabled", havingValue = "true")
+public class FlightRecordingEndpoint {
+
+    @Autowired
+    private FlightRecording flightRecording;
+
+    @ReadOperation
+    public Map<String, Object> recording() {
+        Recording recording = flightRecording.getRecording();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", recording.getName());
+        result.put("state", recording.getState());
+        result.put("startTime", recording.getStartTime());
+        result.put("maxAge", recording.getMaxAge());
+        result.put("maxSize", recording.getMaxSize());
+        result.put("dumpDirectory", flightRecording.getDumpDirectory().toAbsolutePath().toString());
+        return result;
+    }
+
+    @WriteOperation(produces = "application/octet-stream")
+    public Resource dump() {
+        return new FileSystemResource(flightRecording.dump());
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookstore.monitoring;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many threads can be inside a JDBC driver call at the same time. Waiting on
+ * the semaphore parks a virtual thread without pinning its carrier, whereas waiting inside
+ * the driver's synchronized code would not. The permit covers a single call on a
+ * connection, statement or result set, not the whole checkout, so a thread that holds one
+ * connection while taking another cannot run out of permits. Getting a connection from the
+ * pool is not guarded; Hikari waits without pinning. Neither are {@code close} and
+ * {@code rollback} on connections, statements and result sets: failing those on a timeout
+ * would leak the pooled connection or leave its transaction open. Registered by the
+ * virtual-thread config when {@code bookstore.threads.virtual.max-concurrent-jdbc} is set.
+ */
+public class JdbcPinningGuard extends JdbcLifecycleEventListenerAdapter {
+
+    private static final Set<String> UNGUARDED_METHODS = Set.of("close", "rollback");
+
+    private final Semaphore permits;
+    private final long timeoutNanos;
+
+    public JdbcPinningGuard(int permits, Duration timeout) {
+        this.permits = new Semaphore(permits, true);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        if (!isGuarded(executionContext)) {
+            return;
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw sneakyThrow(new SQLTransientConnectionException("Interrupted while waiting to enter the JDBC driver", e));
+        }
+        if (!acquired) {
+            throw sneakyThrow(new SQLTransientConnectionException("No JDBC driver permit available within "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms"));
+        }
+    }
+
+    // Not called when beforeMethod threw, so every call here pairs with an acquired permit
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (isGuarded(executionContext)) {
+            permits.release();
+        }
+    }
+
+    private static boolean isGuarded(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof DataSource) {
+            return false;
+        }
+        Method method = executionContext.getMethod();
+        return method == null || !UNGUARDED_METHODS.contains(method.getName());
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    // The listener interface declares no checked exceptions, but the JDBC proxy rethrows
+    // whatever beforeMethod throws to the caller of the driver method, which declares SQLException
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One client span per statement execution, as a child of the span current on the calling
+ * thread. Nothing is created outside a trace or when the trace is not sampled, so the
+ * cost of an unsampled request is a thread-local lookup per statement.
+ */
+public class JdbcTracingListener extends JdbcLifecycleEventListenerAdapter {
+
+    static final int MAX_STATEMENT_LENGTH = 2000;
+
+    private static final String SPAN = JdbcTracingListener.class.getName() + ".span";
+
+    private final Tracer tracer;
+
+    public JdbcTracingListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span parent = tracer.currentSpan();
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return;
+        }
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        Span.Builder span = tracer.spanBuilder()
+                .setParent(parent.context())
+                .name(operation(sql))
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName(execInfo.getDataSourceName())
+                .tag("db.statement", sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql);
+        if (execInfo.isBatch()) {
+            span.tag("db.batch.size", execInfo.getBatchSize());
+        }
+        execInfo.addCustomValue(SPAN, span.start());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span span = execInfo.getCustomValue(SPAN, Span.class);
+        if (span == null) {
+            return;
+        }
+        if (execInfo.getThrowable() != null) {
+            span.error(execInfo.getThrowable());
+        }
+        span.end();
+    }
+
+    /**
+     * Span name from the statement's leading keyword ({@code jdbc select}), so that the
+     * names stay low-cardinality and the statement itself goes into a tag.
+     */
+    static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "jdbc" : "jdbc " + trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,281 @@
+package com.bookstore.monitoring;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends each exported batch to a file as one line of OTLP/JSON, an
+ * {@code ExportTraceServiceRequest} in the layout of the OpenTelemetry Collector's file
+ * exporter, so the file can be replayed into any OTLP backend with the collector's
+ * {@code otlpjsonfile} receiver. The request is written with Jackson following the
+ * protobuf JSON mapping of the OTLP trace protos: hex trace and span ids, enums as
+ * numbers, 64-bit integers as strings and default values left out. When the file reaches {@code maxBytes} it is renamed to
+ * {@code <file>.1}, replacing the previous one, and a new file is started.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OtlpJsonFileSpanExporter.class);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Path file;
+    private final long maxBytes;
+    private OutputStream out;
+    private long size;
+
+    public OtlpJsonFileSpanExporter(Path file, long maxBytes) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Writing spans as OTLP/JSON to {}", file.toAbsolutePath());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (out == null) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(spans.size() * 512);
+            try (JsonGenerator json = jsonFactory.createGenerator(line)) {
+                writeRequest(json, spans);
+            }
+            line.write('\n');
+            if (size > 0 && size + line.size() > maxBytes) {
+                rotate();
+            }
+            line.writeTo(out);
+            out.flush();
+            size += line.size();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not write {} spans to {}: {}", spans.size(), file, e.toString());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("Could not close {}: {}", file, e.toString());
+            }
+            out = null;
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private void open() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        size = Files.size(file);
+    }
+
+    // ExportTraceServiceRequest: spans grouped by resource, then by instrumentation scope
+    private static void writeRequest(JsonGenerator json, Collection<SpanData> spans) throws IOException {
+        Map<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> byResource = new LinkedHashMap<>();
+        for (SpanData span : spans) {
+            byResource.computeIfAbsent(span.getResource(), resource -> new LinkedHashMap<>())
+                    .computeIfAbsent(span.getInstrumentationScopeInfo(), scope -> new ArrayList<>())
+                    .add(span);
+        }
+        json.writeStartObject();
+        json.writeArrayFieldStart("resourceSpans");
+        for (Map.Entry<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> resource : byResource.entrySet()) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("resource");
+            writeAttributes(json, resource.getKey().getAttributes(), 0);
+            json.writeEndObject();
+            json.writeArrayFieldStart("scopeSpans");
+            for (Map.Entry<InstrumentationScopeInfo, List<SpanData>> scope : resource.getValue().entrySet()) {
+                writeScopeSpans(json, scope.getKey(), scope.getValue());
+            }
+            json.writeEndArray();
+            writeString(json, "schemaUrl", resource.getKey().getSchemaUrl());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+
+    private static void writeScopeSpans(JsonGenerator json, InstrumentationScopeInfo scope, List<SpanData> spans)
+            throws IOException {
+        json.writeStartObject();
+        json.writeObjectFieldStart("scope");
+        writeString(json, "name", scope.getName());
+        writeString(json, "version", scope.getVersion());
+        writeAttributes(json, scope.getAttributes(), 0);
+        json.writeEndObject();
+        json.writeArrayFieldStart("spans");
+        for (SpanData span : spans) {
+            writeSpan(json, span);
+        }
+        json.writeEndArray();
+        writeString(json, "schemaUrl", scope.getSchemaUrl());
+        json.writeEndObject();
+    }
+
+    private static void writeSpan(JsonGenerator json, SpanData span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", span.getTraceId());
+        json.writeStringField("spanId", span.getSpanId());
+        writeString(json, "traceState", traceState(span.getSpanContext()));
+        if (span.getParentSpanContext().isValid()) {
+            json.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        json.writeStringField("name", span.getName());
+        // SpanKind declares INTERNAL..CONSUMER in the order of the proto's 1..5
+        json.writeNumberField("kind", span.getKind().ordinal() + 1);
+        json.writeStringField("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        json.writeStringField("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+        writeAttributes(json, span.getAttributes(), span.getTotalAttributeCount() - span.getAttributes().size());
+        if (!span.getEvents().isEmpty()) {
+            json.writeArrayFieldStart("events");
+            for (EventData event : span.getEvents()) {
+                json.writeStartObject();
+                json.writeStringField("timeUnixNano", Long.toString(event.getEpochNanos()));
+                json.writeStringField("name", event.getName());
+                writeAttributes(json, event.getAttributes(), event.getDroppedAttributesCount());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        writeCount(json, "droppedEventsCount", span.getTotalRecordedEvents() - span.getEvents().size());
+        if (!span.getLinks().isEmpty()) {
+            json.writeArrayFieldStart("links");
+            for (LinkData link : span.getLinks()) {
+                json.writeStartObject();
+                json.writeStringField("traceId", link.getSpanContext().getTraceId());
+                json.writeStringField("spanId", link.getSpanContext().getSpanId());
+                writeString(json, "traceState", traceState(link.getSpanContext()));
+                writeAttributes(json, link.getAttributes(), link.getTotalAttributeCount() - link.getAttributes().size());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        writeCount(json, "droppedLinksCount", span.getTotalRecordedLinks() - span.getLinks().size());
+        writeStatus(json, span.getStatus());
+        json.writeEndObject();
+    }
+
+    private static void writeStatus(JsonGenerator json, StatusData status) throws IOException {
+        json.writeObjectFieldStart("status");
+        writeString(json, "message", status.getDescription());
+        int code = switch (status.getStatusCode()) {
+            case UNSET -> 0;
+            case OK -> 1;
+            case ERROR -> 2;
+        };
+        if (code != 0) {
+            json.writeNumberField("code", code);
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeAttributes(JsonGenerator json, Attributes attributes, int dropped) throws IOException {
+        if (!attributes.isEmpty()) {
+            json.writeArrayFieldStart("attributes");
+            for (Map.Entry<AttributeKey<?>, Object> attribute : attributes.asMap().entrySet()) {
+                json.writeStartObject();
+                json.writeStringField("key", attribute.getKey().getKey());
+                json.writeFieldName("value");
+                writeValue(json, attribute.getValue());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        writeCount(json, "droppedAttributesCount", dropped);
+    }
+
+    // AnyValue; the array attribute types arrive as lists of their element type
+    private static void writeValue(JsonGenerator json, Object value) throws IOException {
+        json.writeStartObject();
+        if (value instanceof String string) {
+            json.writeStringField("stringValue", string);
+        } else if (value instanceof Boolean bool) {
+            json.writeBooleanField("boolValue", bool);
+        } else if (value instanceof Long number) {
+            json.writeStringField("intValue", number.toString());
+        } else if (value instanceof Double number) {
+            json.writeNumberField("doubleValue", number);
+        } else if (value instanceof List<?> values) {
+            json.writeObjectFieldStart("arrayValue");
+            json.writeArrayFieldStart("values");
+            for (Object element : values) {
+                writeValue(json, element);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } else {
+            json.writeStringField("stringValue", String.valueOf(value));
+        }
+        json.writeEndObject();
+    }
+
+    private static String traceState(SpanContext context) {
+        StringBuilder header = new StringBuilder();
+        context.getTraceState().forEach((key, value) ->
+                header.append(header.length() == 0 ? "" : ",").append(key).append('=').append(value));
+        return header.toString();
+    }
+
+    private static void writeString(JsonGenerator json, String name, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            json.writeStringField(name, value);
+        }
+    }
+
+    private static void writeCount(JsonGenerator json, String name, int count) throws IOException {
+        if (count > 0) {
+            json.writeNumberField(name, count);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookstore.monitoring;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Database work done on the current request thread: JDBC executions (a batch counts
+ * once), rows read from result sets, entities loaded by Hibernate and the time spent
+ * executing statements. Bound to the thread by {@link SqlAccountingFilter}. SQL run on
+ * other threads, such as the ones writing exports, is not attributed to the request.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    // Executions per SQL string, only kept when the budget alert needs it
+    private final Map<String, Integer> executionsBySql;
+    private int statements;
+    private long rows;
+    private int entities;
+    private long jdbcNanos;
+    private long executionStarted;
+
+    private RequestSqlStats(boolean countBySql) {
+        this.executionsBySql = countBySql ? new HashMap<>() : null;
+    }
+
+    static RequestSqlStats start(boolean countBySql) {
+        RequestSqlStats stats = new RequestSqlStats(countBySql);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The stats of the request being handled on this thread, or null outside a request.
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    void executionStarted() {
+        executionStarted = System.nanoTime();
+    }
+
+    void executionFinished(String sql) {
+        statements++;
+        jdbcNanos += System.nanoTime() - executionStarted;
+        if (executionsBySql != null && sql != null) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    void entityLoaded() {
+        entities++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getEntities() {
+        return entities;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * The SQL executed most often, with its count. Empty unless counted per SQL string.
+     */
+    Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return executionsBySql == null ? Optional.empty()
+                : executionsBySql.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+
+    // e.g. db;dur=3.25;desc="5 statements, 40 rows, 7 entities"
+    String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d statements, %d rows, %d entities\"",
+                jdbcNanos / 1e6, statements, rows, entities);
+    }
+}
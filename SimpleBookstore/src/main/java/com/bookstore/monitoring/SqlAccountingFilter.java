@@ -0,0 +1,80 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accounts the database work of each request (see {@link RequestSqlStats}). The totals
+ * are recorded as {@code bookstore.request.sql.*} tagged with method and uri template,
+ * and sent as a {@code Server-Timing} header: by {@link SqlServerTimingAdvice} just
+ * before a body is written, or here for responses without one. With the alert on, a
+ * request that runs more statements than the budget is logged together with its most
+ * repeated statement, which is what an N+1 looks like.
+ */
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlAccountingFilter.class);
+
+    private final MeterRegistry registry;
+    private final boolean alert;
+    private final int statementBudget;
+
+    public SqlAccountingFilter(MeterRegistry registry, boolean alert, int statementBudget) {
+        this.registry = registry;
+        this.alert = alert;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start(alert);
+        try {
+            filterChain.doFilter(request, response);
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, stats.serverTiming());
+            }
+        } finally {
+            RequestSqlStats.clear();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+        DistributionSummary.builder("bookstore.request.sql.statements").tags(tags)
+                .description("JDBC statement executions per request").register(registry).record(stats.getStatements());
+        DistributionSummary.builder("bookstore.request.sql.rows").tags(tags)
+                .description("Result set rows read per request").register(registry).record(stats.getRows());
+        DistributionSummary.builder("bookstore.request.sql.entities").tags(tags)
+                .description("Entities loaded by Hibernate per request").register(registry).record(stats.getEntities());
+        Timer.builder("bookstore.request.sql.time").tags(tags)
+                .description("Time spent executing JDBC statements per request").register(registry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (alert && stats.getStatements() > statementBudget) {
+            registry.counter("bookstore.request.sql.budget.exceeded", tags).increment();
+            Map.Entry<String, Integer> repeated = stats.mostRepeated().orElse(Map.entry("-", 0));
+            log.warn("{} {} ran {} SQL statements, budget {} ({} rows, {} entities, {} ms in JDBC). Most repeated, {}x: {}",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), statementBudget, stats.getRows(),
+                    stats.getEntities(), TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bookstore.monitoring;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds {@link RequestSqlStats}: statement executions and their time from the JDBC proxy,
+ * rows from the result sets it wraps. Result sets get a minimal proxy that only counts
+ * successful {@code next()} calls, rather than the stock one that calls every lifecycle
+ * listener for every getter.
+ */
+public class SqlAccountingListener extends JdbcLifecycleEventListenerAdapter implements ResultSetProxyLogicFactory {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.executionStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.executionFinished(queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery());
+        }
+    }
+
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        return (method, args) -> {
+            if (method.getDeclaringClass() == ProxyJdbcObject.class) {
+                return resultSet;
+            }
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            // Reflection does not always box through Boolean.valueOf, so compare by value
+            if (stats != null && Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                stats.rowRead();
+            }
+            return result;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.bookstore.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's {@code Server-Timing} header right before the body is written, the
+ * last moment headers can still be set. Lazy loading during serialization comes after
+ * this and only shows up in the metrics.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "bookstore.sql.accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestSqlStats.current() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            response.getHeaders().set(SqlAccountingFilter.SERVER_TIMING, stats.serverTiming());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,98 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Replacement for {@code spring.jpa.show-sql} in production. Logs a random sample of
+ * statements to {@code bookstore.sql} and every statement slower than the threshold to
+ * {@code bookstore.sql.slow}, with bound parameters and the service methods on the
+ * call stack. Both loggers go through an async appender (see logback-spring.xml), and
+ * the time spent here is recorded as {@code bookstore.sql.log.overhead}.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.sql.log.enabled", havingValue = "true")
+public class SqlStatementLogger implements QueryExecutionListener {
+
+    private static final Logger SAMPLED_LOG = LoggerFactory.getLogger("bookstore.sql");
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("bookstore.sql.slow");
+    private static final String SERVICE_PACKAGE = "com.bookstore.service.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final DefaultQueryLogEntryCreator entryCreator = new DefaultQueryLogEntryCreator();
+    private final double sampleRate;
+    private final long slowThresholdMillis;
+    private final Counter sampledCounter;
+    private final Counter slowCounter;
+    private final Timer overheadTimer;
+
+    public SqlStatementLogger(@Value("${bookstore.sql.log.sample-rate:0.01}") double sampleRate,
+                              @Value("${bookstore.sql.log.slow-threshold:200ms}") Duration slowThreshold,
+                              MeterRegistry meterRegistry) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.sampledCounter = Counter.builder("bookstore.sql.log.statements").tag("log", "sampled")
+                .description("SQL statements written to the sampled statement log").register(meterRegistry);
+        this.slowCounter = Counter.builder("bookstore.sql.log.statements").tag("log", "slow")
+                .description("SQL statements written to the slow-query log").register(meterRegistry);
+        this.overheadTimer = Timer.builder("bookstore.sql.log.overhead")
+                .description("Time spent formatting and enqueueing SQL log entries").register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        boolean slow = execInfo.getElapsedTime() >= slowThresholdMillis;
+        boolean sampled = !slow && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if ((!slow || !SLOW_LOG.isWarnEnabled()) && (!sampled || !SAMPLED_LOG.isInfoEnabled())) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        String entry = entryCreator.getLogEntry(execInfo, queryInfoList, false, true, false);
+        if (slow) {
+            SLOW_LOG.warn("{} Caller:[{}]", entry, serviceCallers());
+            slowCounter.increment();
+        } else {
+            SAMPLED_LOG.info("{} Caller:[{}]", entry, serviceCallers());
+            sampledCounter.increment();
+        }
+        overheadTimer.record(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // Outermost first, e.g. "OrderService.createOrder > BookService.updateStock"
+    static String serviceCallers() {
+        Set<String> callers = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE) && !frame.getClassName().contains("$$"))
+                .map(frame -> frame.getClassName().substring(SERVICE_PACKAGE.length()) + "." + frame.getMethodName())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        if (callers.isEmpty()) {
+            return "-";
+        }
+        List<String> outermostFirst = new ArrayList<>(callers);
+        Collections.reverse(outermostFirst);
+        return String.join(" > ", outermostFirst);
+    }
+}
@@ -0,0 +1,79 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reports where startup time goes. When the application runs with a
+ * {@link BufferingApplicationStartup} (see {@code SimpleBookstoreApplication}) the slowest
+ * startup steps are logged once the application is ready; the full timeline is served
+ * at {@code /actuator/startup}. Time from JVM start to the first handled request is
+ * published as {@code application.first-request.time}, next to Spring Boot's own
+ * {@code application.ready.time}.
+ */
+@Component
+public class StartupTimings {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimings.class);
+    private static final int SLOWEST_STEPS = 10;
+
+    private final AtomicLong firstRequestUptime = new AtomicLong(-1);
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        TimeGauge.builder("application.first-request.time", firstRequestUptime, TimeUnit.MILLISECONDS, AtomicLong::doubleValue)
+                .description("Time from JVM start until the first request was handled")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        log.info("Ready {} ms after JVM start ({} ms in SpringApplication.run)",
+                ManagementFactory.getRuntimeMXBean().getUptime(), event.getTimeTaken().toMillis());
+        if (applicationContext.getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            StartupTimeline timeline = startup.getBufferedTimeline();
+            String slowest = timeline.getEvents().stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(SLOWEST_STEPS)
+                    .map(step -> String.format("%n  %6d ms  %s%s", step.getDuration().toMillis(), step.getStartupStep().getName(),
+                            describe(step)))
+                    .collect(Collectors.joining());
+            log.info("Slowest startup steps:{}", slowest);
+        }
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestUptime.get() < 0) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            if (firstRequestUptime.compareAndSet(-1, uptime)) {
+                log.info("First request handled {} ms after JVM start: {} {}", uptime, event.getMethod(), event.getRequestUrl());
+            }
+        }
+    }
+
+    private static String describe(StartupTimeline.TimelineEvent step) {
+        StringBuilder tags = new StringBuilder();
+        step.getStartupStep().getTags().forEach(tag -> tags.append(' ').append(tag.getKey()).append('=').append(tag.getValue()));
+        return tags.toString();
+    }
+}
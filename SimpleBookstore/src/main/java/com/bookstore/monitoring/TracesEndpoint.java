@@ -0,0 +1,92 @@
+package com.bookstore.monitoring;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@code /actuator/traces}: the sampled traces still held by {@link RecentSpans}, newest
+ * first, and {@code /actuator/traces/{traceId}} with the spans of one of them. Spans
+ * carry SQL statements, so the endpoint is only exposed by the {@code diagnostics} and
+ * {@code jfr} profiles, on the localhost management port:
+ * <pre>
+ * curl http://localhost:8082/actuator/traces
+ * </pre>
+ */
+@Component
+@WebEndpoint(id = "traces")
+@ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracesEndpoint {
+
+    @Autowired
+    private RecentSpans recentSpans;
+
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        Map<String, List<SpanData>> byTrace = recentSpans.snapshot().stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId, LinkedHashMap::new, Collectors.toList()));
+        return byTrace.entrySet().stream()
+                .map(trace -> TraceSummary.of(trace.getKey(), trace.getValue()))
+                .sorted(Comparator.comparing(TraceSummary::start).reversed())
+                .toList();
+    }
+
+    @ReadOperation
+    public List<SpanView> trace(@Selector String traceId) {
+        return recentSpans.snapshot().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(SpanView::of)
+                .toList();
+    }
+
+    public record TraceSummary(String traceId, String name, Instant start, double durationMs, int spans) {
+
+        static TraceSummary of(String traceId, List<SpanData> spans) {
+            Set<String> spanIds = spans.stream().map(SpanData::getSpanId).collect(Collectors.toSet());
+            // The root may have been evicted or still be in flight; fall back to the earliest span
+            SpanData root = spans.stream()
+                    .filter(span -> !spanIds.contains(span.getParentSpanId()))
+                    .min(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                    .orElseThrow();
+            long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElseThrow();
+            return new TraceSummary(traceId, root.getName(), instant(root.getStartEpochNanos()),
+                    millis(end - root.getStartEpochNanos()), spans.size());
+        }
+    }
+
+    public record SpanView(String spanId, String parentSpanId, String name, String kind, Instant start,
+                           double durationMs, String status, Map<String, Object> attributes) {
+
+        static SpanView of(SpanData span) {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            span.getAttributes().forEach((AttributeKey<?> key, Object value) -> attributes.put(key.getKey(), value));
+            return new SpanView(span.getSpanId(), span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                    span.getName(), span.getKind().name(), instant(span.getStartEpochNanos()),
+                    millis(span.getEndEpochNanos() - span.getStartEpochNanos()), span.getStatus().getStatusCode().name(),
+                    attributes);
+        }
+    }
+
+    private static Instant instant(long epochNanos) {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,17 +1,54 @@
 package com.bookstore.repository;
 
 import com.bookstore.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    String AVAILABILITY_QUERY_REGION = "book-availability";
+
+    @ReadOnlyQuery
     @Query("SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(b.author) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Book> searchBooks(@Param("query") String query);
 
+    // Keyset pages for streaming the catalog without materializing it
+    @ReadOnlyQuery
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @ReadOnlyQuery
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId AND (LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(b.author) LIKE LOWER(CONCAT('%', :query, '%'))) ORDER BY b.id")
+    List<Book> searchBooksAfter(@Param("query") String query, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Results are kept in the query cache; Hibernate drops them whenever the book table changes
+    @Transactional(readOnly = true)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReadOnlyQuery.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AVAILABILITY_QUERY_REGION)
+    })
     List<Book> findByStockQuantityGreaterThan(Integer quantity);
+
+    // Forward-only cursor for exports; rows bypass the second-level cache so a full
+    // dump does not evict the hot entries
+    @Transactional(readOnly = true)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReadOnlyQuery.FETCH_SIZE),
+        @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAllForExport();
 }
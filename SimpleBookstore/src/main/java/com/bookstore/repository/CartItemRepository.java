@@ -9,6 +9,7 @@ import java.util.Optional;
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
+    @ReadOnlyQuery
     List<CartItem> findBySessionId(String sessionId);
 
     Optional<CartItem> findBySessionIdAndBookId(String sessionId, Long bookId);
@@ -1,14 +1,34 @@
 package com.bookstore.repository;
 
 import com.bookstore.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    @ReadOnlyQuery
     List<Order> findByCustomerEmailOrderByOrderDateDesc(String customerEmail);
 
+    @ReadOnlyQuery
     List<Order> findByStatusOrderByOrderDateDesc(String status);
+
+    // Forward-only cursor for exports, one row per order item; Hibernate groups the rows
+    // back into orders as it scrolls
+    @Transactional(readOnly = true)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReadOnlyQuery.FETCH_SIZE),
+        @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.book ORDER BY o.id, i.id")
+    Stream<Order> streamAllWithItemsForExport();
 }
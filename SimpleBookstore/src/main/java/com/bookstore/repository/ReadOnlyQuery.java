@@ -0,0 +1,35 @@
+package com.bookstore.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a repository query as a pure read: it runs in a read-only transaction,
+ * loads entities without dirty-checking snapshots and streams rows from the
+ * driver in batches of {@link #FETCH_SIZE}. Entities returned by these queries
+ * must not be modified and saved.
+ * <p>
+ * A read-only transaction started here also switches the session to manual flush.
+ * When the query joins an outer read-write transaction the flush mode is left
+ * alone so pending changes stay visible to the query.
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+@QueryHints({
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ReadOnlyQuery.FETCH_SIZE)
+})
+public @interface ReadOnlyQuery {
+
+    String FETCH_SIZE = "100";
+}
@@ -0,0 +1,500 @@
+package com.bookstore.service;
+
+import com.bookstore.model.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk catalog writes that bypass the entity layer.
+ * <p>
+ * Imports are read as a stream and handled in chunks: rows are validated in parallel,
+ * then upserted by ISBN with JDBC batches in one transaction per chunk. A book that already
+ * exists only has the fields given in the row changed; a new one needs a title, author and
+ * price, and starts with no stock unless the row says otherwise. A chunk that fails in the
+ * database is retried row by row so one bad row only rejects itself.
+ * <p>
+ * Price and stock updates are applied as batched set-based UPDATEs in one transaction.
+ * Stock can never go negative: an entry whose delta would take it below zero matches no
+ * row and is rejected.
+ * <p>
+ * Either way the book caches and catalog ETags are invalidated once per chunk or batch
+ * rather than per row. The writes bypass Hibernate, so the cache regions are cleared both
+ * before and after the transaction: a read that loaded a row before the commit and put it
+ * in the cache while the writes ran is cleared again.
+ */
+@Service
+public class BookBulkService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(BookBulkService.class);
+
+    // A null parameter keeps the column, so an import only changes the fields it carries
+    private static final String IMPORT_UPDATE_SQL = "UPDATE book SET title = COALESCE(?, title), "
+            + "author = COALESCE(?, author), price = COALESCE(?, price), description = COALESCE(?, description), "
+            + "stock_quantity = COALESCE(?, stock_quantity) WHERE isbn = ?";
+    private static final String IMPORT_INSERT_SQL = "INSERT INTO book (title, author, price, description, stock_quantity, isbn) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final List<String> IMPORTED_PROPERTIES = List.of("title", "author", "price", "description", "stockQuantity");
+
+    private static final String UPDATE_BY_ID_SQL = "UPDATE book SET price = COALESCE(?, price), "
+            + "stock_quantity = stock_quantity + ? WHERE id = ? AND stock_quantity + ? >= 0";
+    private static final String UPDATE_BY_ISBN_SQL = "UPDATE book SET price = COALESCE(?, price), "
+            + "stock_quantity = stock_quantity + ? WHERE isbn = ? AND stock_quantity + ? >= 0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Value("${bookstore.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public BookImportResult importNdjson(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Importer importer = new Importer();
+        String line;
+        long row = 0;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            try {
+                // A missing stockQuantity must stay null rather than take the entity default of 0
+                Book book = new Book();
+                book.setStockQuantity(null);
+                importer.add(new Row(row, objectMapper.readerForUpdating(book).readValue(line)));
+            } catch (JsonProcessingException e) {
+                importer.add(Row.rejected(row, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Reads CSV with a header row naming the columns, in the layout written by the
+     * export; unknown columns such as {@code id} are ignored. Missing columns and empty
+     * cells leave an existing book's value as it is.
+     */
+    public BookImportResult importCsv(InputStream in) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            return new Importer().finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        Importer importer = new Importer();
+        long row = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+            importer.add(csvRow(row, record, columns));
+        }
+        return importer.finish();
+    }
+
+    public BookUpdateResult updateBooks(List<BookUpdate> updates) {
+        List<BookUpdateResult.Rejected> rejected = new ArrayList<>();
+        List<Integer> byId = new ArrayList<>();
+        List<Integer> byIsbn = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            BookUpdate update = updates.get(i);
+            String error = check(update);
+            if (error != null) {
+                rejected.add(new BookUpdateResult.Rejected(i, update.id(), update.isbn(), error));
+            } else if (update.id() != null) {
+                byId.add(i);
+            } else {
+                byIsbn.add(i);
+            }
+        }
+        if (byId.isEmpty() && byIsbn.isEmpty()) {
+            return new BookUpdateResult(updates.size(), 0, rejected);
+        }
+
+        List<Integer> unmatched = invalidatingCaches(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            List<Integer> missed = new ArrayList<>();
+            missed.addAll(applyUpdates(UPDATE_BY_ID_SQL, updates, byId, (statement, update) -> statement.setLong(3, update.id())));
+            missed.addAll(applyUpdates(UPDATE_BY_ISBN_SQL, updates, byIsbn, (statement, update) -> statement.setString(3, update.isbn())));
+            return missed;
+        }));
+
+        rejectUnmatched(updates, unmatched, rejected);
+        rejected.sort(Comparator.comparingInt(BookUpdateResult.Rejected::index));
+        int updated = byId.size() + byIsbn.size() - unmatched.size();
+        log.info("Bulk update finished: {} entries, {} applied, {} rejected", updates.size(), updated, rejected.size());
+        return new BookUpdateResult(updates.size(), updated, rejected);
+    }
+
+    private static String check(BookUpdate update) {
+        if (update.id() == null && (update.isbn() == null || update.isbn().isBlank())) {
+            return "Either id or isbn is required";
+        }
+        if (update.price() == null && update.stockDelta() == null) {
+            return "Nothing to update: price or stockDelta is required";
+        }
+        if (update.price() != null && update.price() < 0) {
+            return "Price must be zero or positive";
+        }
+        return null;
+    }
+
+    // Returns the indexes of the entries that matched no row
+    private List<Integer> applyUpdates(String sql, List<BookUpdate> updates, List<Integer> indexes, KeyBinder key) {
+        if (indexes.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(sql, indexes, chunkSize, (statement, index) -> {
+            BookUpdate update = updates.get(index);
+            int delta = update.stockDelta() == null ? 0 : update.stockDelta();
+            if (update.price() == null) {
+                statement.setNull(1, Types.DOUBLE);
+            } else {
+                statement.setDouble(1, update.price());
+            }
+            statement.setInt(2, delta);
+            key.bind(statement, update);
+            statement.setInt(4, delta);
+        });
+        List<Integer> unmatched = new ArrayList<>();
+        int position = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    unmatched.add(indexes.get(position));
+                }
+                position++;
+            }
+        }
+        return unmatched;
+    }
+
+    // One lookup tells a missing book apart from a stock shortfall
+    private void rejectUnmatched(List<BookUpdate> updates, List<Integer> unmatched, List<BookUpdateResult.Rejected> rejected) {
+        if (unmatched.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        Set<String> isbns = new HashSet<>();
+        for (int index : unmatched) {
+            BookUpdate update = updates.get(index);
+            if (update.id() != null) {
+                ids.add(update.id());
+            } else {
+                isbns.add(update.isbn());
+            }
+        }
+        Set<Long> existingIds = new HashSet<>();
+        Set<String> existingIsbns = new HashSet<>();
+        namedParameterJdbcTemplate.query("SELECT id, isbn FROM book WHERE id IN (:ids) OR isbn IN (:isbns)",
+                new MapSqlParameterSource()
+                        .addValue("ids", ids.isEmpty() ? List.of(-1L) : ids)
+                        .addValue("isbns", isbns.isEmpty() ? List.of("") : isbns),
+                (RowCallbackHandler) resultSet -> {
+                    existingIds.add(resultSet.getLong("id"));
+                    existingIsbns.add(resultSet.getString("isbn"));
+                });
+        for (int index : unmatched) {
+            BookUpdate update = updates.get(index);
+            boolean exists = update.id() != null ? existingIds.contains(update.id()) : existingIsbns.contains(update.isbn());
+            rejected.add(new BookUpdateResult.Rejected(index, update.id(), update.isbn(),
+                    exists ? "Insufficient stock for a delta of " + update.stockDelta() : "Book not found"));
+        }
+    }
+
+    private static Row csvRow(long row, List<String> record, Map<String, Integer> columns) {
+        Book book = new Book();
+        book.setStockQuantity(null);
+        book.setTitle(field(record, columns, "title"));
+        book.setAuthor(field(record, columns, "author"));
+        book.setIsbn(field(record, columns, "isbn"));
+        book.setDescription(field(record, columns, "description"));
+        List<String> errors = new ArrayList<>();
+        String price = field(record, columns, "price");
+        if (price != null) {
+            try {
+                book.setPrice(Double.valueOf(price));
+            } catch (NumberFormatException e) {
+                errors.add("Price is not a number: " + price);
+            }
+        }
+        String stock = field(record, columns, "stock_quantity");
+        if (stock != null) {
+            try {
+                book.setStockQuantity(Integer.valueOf(stock));
+            } catch (NumberFormatException e) {
+                errors.add("Stock quantity is not a whole number: " + stock);
+            }
+        }
+        Row result = new Row(row, book);
+        result.errors.addAll(errors);
+        return result;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Only the fields the row carries are checked here; whether the rest are required
+    // depends on whether the ISBN exists, which is known once the chunk reaches the database
+    private void validate(Row row) {
+        if (row.book == null) {
+            return;
+        }
+        if (row.book.getIsbn() == null || row.book.getIsbn().isBlank()) {
+            row.errors.add("ISBN is required for import");
+        }
+        IMPORTED_PROPERTIES.stream()
+                .filter(property -> isPresent(row.book, property))
+                .flatMap(property -> validator.validateProperty(row.book, property).stream())
+                .map(ConstraintViolation::getMessage)
+                .forEach(row.errors::add);
+    }
+
+    private static boolean isPresent(Book book, String property) {
+        return switch (property) {
+            case "title" -> book.getTitle() != null;
+            case "author" -> book.getAuthor() != null;
+            case "price" -> book.getPrice() != null;
+            case "description" -> book.getDescription() != null;
+            case "stockQuantity" -> book.getStockQuantity() != null;
+            default -> throw new IllegalArgumentException(property);
+        };
+    }
+
+    private List<String> insertErrors(Book book) {
+        return validator.validate(book).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .toList();
+    }
+
+    private int upsert(List<Row> rows) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            List<Row> unwritable = transaction.execute(status -> upsertBatch(rows));
+            unwritable.forEach(row -> row.errors.addAll(insertErrors(row.book)));
+            return rows.size() - unwritable.size();
+        } catch (DataAccessException e) {
+            log.debug("Batch of {} rows failed, retrying one by one: {}", rows.size(), e.getMostSpecificCause().getMessage());
+        }
+        int upserted = 0;
+        for (Row row : rows) {
+            try {
+                if (transaction.execute(status -> upsertRow(row.book))) {
+                    upserted++;
+                } else {
+                    row.errors.addAll(insertErrors(row.book));
+                }
+            } catch (DataAccessException e) {
+                row.errors.add(e.getMostSpecificCause().getMessage());
+            }
+        }
+        return upserted;
+    }
+
+    // Updates the ISBNs that exist and inserts the rest; returns the new rows that lack a
+    // field a new book needs. Errors are added by the caller once the transaction is done
+    private List<Row> upsertBatch(List<Row> rows) {
+        Set<String> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT isbn FROM book WHERE isbn IN (:isbns)",
+                new MapSqlParameterSource("isbns", rows.stream().map(row -> row.book.getIsbn()).toList()), String.class));
+        List<Row> updates = rows.stream().filter(row -> existing.contains(row.book.getIsbn())).toList();
+        List<Row> inserts = new ArrayList<>(rows.stream().filter(row -> !existing.contains(row.book.getIsbn())).toList());
+        if (!updates.isEmpty()) {
+            int[][] counts = jdbcTemplate.batchUpdate(IMPORT_UPDATE_SQL, updates, updates.size(),
+                    (statement, row) -> bind(statement, row.book));
+            // Deleted since the lookup
+            for (int i = 0; i < counts[0].length; i++) {
+                if (counts[0][i] == 0) {
+                    inserts.add(updates.get(i));
+                }
+            }
+        }
+        Map<Boolean, List<Row>> insertable = inserts.stream()
+                .collect(Collectors.partitioningBy(row -> insertErrors(row.book).isEmpty()));
+        if (!insertable.get(true).isEmpty()) {
+            jdbcTemplate.batchUpdate(IMPORT_INSERT_SQL, insertable.get(true), insertable.get(true).size(),
+                    (statement, row) -> bindInsert(statement, row.book));
+        }
+        return insertable.get(false);
+    }
+
+    private boolean upsertRow(Book book) {
+        if (jdbcTemplate.update(IMPORT_UPDATE_SQL, statement -> bind(statement, book)) > 0) {
+            return true;
+        }
+        if (!insertErrors(book).isEmpty()) {
+            return false;
+        }
+        jdbcTemplate.update(IMPORT_INSERT_SQL, statement -> bindInsert(statement, book));
+        return true;
+    }
+
+    // Binds the columns shared by IMPORT_UPDATE_SQL and IMPORT_INSERT_SQL; nulls are kept as nulls
+    private static void bind(PreparedStatement statement, Book book) throws SQLException {
+        statement.setObject(1, book.getTitle(), Types.VARCHAR);
+        statement.setObject(2, book.getAuthor(), Types.VARCHAR);
+        statement.setObject(3, book.getPrice(), Types.DOUBLE);
+        statement.setObject(4, book.getDescription(), Types.CLOB);
+        statement.setObject(5, book.getStockQuantity(), Types.INTEGER);
+        statement.setString(6, book.getIsbn());
+    }
+
+    private static void bindInsert(PreparedStatement statement, Book book) throws SQLException {
+        bind(statement, book);
+        if (book.getStockQuantity() == null) {
+            statement.setInt(5, 0);
+        }
+    }
+
+    // The writes bypass Hibernate, so nothing invalidates the Book region or the query
+    // caches for us. Evicting only after the commit would let a read that ran just before
+    // it put the old row back; evicting before as well leaves no such window open for long
+    private <T> T invalidatingCaches(Supplier<T> writes) {
+        evictBookCaches();
+        try {
+            return writes.get();
+        } finally {
+            evictBookCaches();
+            catalogVersions.invalidateAll();
+        }
+    }
+
+    private void evictBookCaches() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Book.class);
+        cache.evictQueryRegions();
+    }
+
+    private interface KeyBinder {
+        void bind(PreparedStatement statement, BookUpdate update) throws SQLException;
+    }
+
+    private static final class Row {
+
+        private final long number;
+        private final Book book;
+        private final List<String> errors = new ArrayList<>(0);
+
+        Row(long number, Book book) {
+            this.number = number;
+            this.book = book;
+        }
+
+        static Row rejected(long number, String error) {
+            Row row = new Row(number, null);
+            row.errors.add(error);
+            return row;
+        }
+    }
+
+    private final class Importer {
+
+        private final List<Row> chunk = new ArrayList<>(chunkSize);
+        private final List<BookImportResult.RowError> errors = new ArrayList<>();
+        private long received;
+        private long upserted;
+        private long rejected;
+
+        void add(Row row) {
+            chunk.add(row);
+            received++;
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        BookImportResult finish() {
+            flush();
+            log.info("Bulk import finished: {} rows received, {} upserted, {} rejected", received, upserted, rejected);
+            return new BookImportResult(received, upserted, rejected, List.copyOf(errors), rejected > errors.size());
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            chunk.parallelStream().forEach(BookBulkService.this::validate);
+            List<Row> valid = chunk.stream().filter(row -> row.errors.isEmpty()).toList();
+            if (!valid.isEmpty()) {
+                upserted += invalidatingCaches(() -> upsert(valid));
+            }
+            for (Row row : chunk) {
+                if (!row.errors.isEmpty()) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new BookImportResult.RowError(row.number, row.book == null ? null : row.book.getIsbn(),
+                                List.copyOf(row.errors)));
+                    }
+                }
+            }
+            chunk.clear();
+        }
+    }
+}
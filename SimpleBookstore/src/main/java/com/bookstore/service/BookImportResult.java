@@ -0,0 +1,13 @@
+package com.bookstore.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists rejected rows by their 1-based position
+ * in the feed and is capped; {@code rejected} always has the full count.
+ */
+public record BookImportResult(long received, long upserted, long rejected, List<RowError> errors, boolean errorsTruncated) {
+
+    public record RowError(long row, String isbn, List<String> messages) {
+    }
+}
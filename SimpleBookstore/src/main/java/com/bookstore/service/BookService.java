@@ -1,43 +1,148 @@
 package com.bookstore.service;
 
 import com.bookstore.model.Book;
+import com.bookstore.monitoring.BookSearchEvent;
 import com.bookstore.repository.BookRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
+@Observed(name = "bookstore.service")
 public class BookService {
 
+    static final int STREAM_PAGE_SIZE = 200;
+
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    private final SingleFlight<String, Optional<Book>> bookLookups = new SingleFlight<>();
+    private final SingleFlight<String, List<Book>> searches = new SingleFlight<>();
+
+    @Transactional(readOnly = true)
     public List<Book> getAllBooks() {
         return bookRepository.findAll();
     }
 
+    /**
+     * Concurrent lookups of the same book share one query, see {@link #coalesced}. The
+     * returned book is then shared by all of those callers and must not be modified.
+     */
     public Optional<Book> getBookById(Long id) {
-        return bookRepository.findById(id);
+        return coalesced(bookLookups, catalogVersions.book(id).etag(), () -> bookRepository.findById(id));
+    }
+
+    /**
+     * Number of book lookups that were served by another caller's query.
+     */
+    long getCoalescedLookups() {
+        return bookLookups.getCoalesced();
     }
 
+    /**
+     * Concurrent identical searches share one query, see {@link #coalesced}.
+     */
     public List<Book> searchBooks(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return getAllBooks();
+        BookSearchEvent event = new BookSearchEvent();
+        event.begin();
+        List<Book> books = query == null || query.trim().isEmpty()
+                ? coalesced(searches, catalogVersions.catalog().etag(), this::getAllBooks)
+                : coalesced(searches, catalogVersions.catalog().etag() + query, () -> bookRepository.searchBooks(query));
+        event.end();
+        if (event.shouldCommit()) {
+            event.queryLength = query == null ? 0 : query.length();
+            event.hits = books.size();
+            event.commit();
+        }
+        return books;
+    }
+
+    /**
+     * Runs identical reads from callers outside a transaction once. The key includes the
+     * catalog version, which {@link CatalogVersions} bumps after every committed change, so
+     * a caller arriving after a change starts a fresh query rather than joining one that
+     * may have read the old rows. Callers inside a transaction read through their own
+     * persistence context, as they may go on to modify what they read. The repository
+     * methods run in their own read-only transactions.
+     */
+    private <V> V coalesced(SingleFlight<String, V> flights, String key, Supplier<V> query) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return query.get();
         }
-        return bookRepository.searchBooks(query);
+        return flights.execute(key, query);
     }
 
+    @Transactional(readOnly = true)
     public List<Book> getAvailableBooks() {
         return bookRepository.findByStockQuantityGreaterThan(0);
     }
 
+    /**
+     * Streams the catalog in id order, one keyset page at a time. The next page is only
+     * queried once the subscriber has consumed the previous one, and every query runs
+     * in its own short read-only transaction on the bounded-elastic scheduler.
+     */
+    public Flux<Book> streamAllBooks() {
+        return streamPages(afterId -> bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(STREAM_PAGE_SIZE)));
+    }
+
+    public Flux<Book> streamSearchBooks(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return streamAllBooks();
+        }
+        return streamPages(afterId -> bookRepository.searchBooksAfter(query, afterId, PageRequest.ofSize(STREAM_PAGE_SIZE)));
+    }
+
+    private Flux<Book> streamPages(Function<Long, List<Book>> pageAfter) {
+        return Flux.<List<Book>, Long>generate(() -> 0L, (afterId, sink) -> {
+                    List<Book> page = pageAfter.apply(afterId);
+                    if (!page.isEmpty()) {
+                        sink.next(page);
+                    }
+                    if (page.size() < STREAM_PAGE_SIZE) {
+                        sink.complete();
+                        return afterId;
+                    }
+                    return page.get(page.size() - 1).getId();
+                })
+                .concatMapIterable(Function.identity(), 1)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Transactional
+    public Optional<Book> updateBook(Long id, Book details) {
+        return bookRepository.findById(id).map(book -> {
+            book.setTitle(details.getTitle());
+            book.setAuthor(details.getAuthor());
+            book.setIsbn(details.getIsbn());
+            book.setPrice(details.getPrice());
+            book.setDescription(details.getDescription());
+            book.setStockQuantity(details.getStockQuantity());
+            return saveBook(book);
+        });
+    }
+
     public Book saveBook(Book book) {
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        catalogVersions.bookChanged(saved.getId());
+        return saved;
     }
 
     public void deleteBook(Long id) {
         bookRepository.deleteById(id);
+        catalogVersions.bookChanged(id);
     }
 
     public boolean updateStock(Long bookId, Integer quantity) {
@@ -47,6 +152,7 @@ public class BookService {
             if (book.getStockQuantity() >= quantity) {
                 book.setStockQuantity(book.getStockQuantity() - quantity);
                 bookRepository.save(book);
+                catalogVersions.bookChanged(bookId);
                 return true;
             }
         }
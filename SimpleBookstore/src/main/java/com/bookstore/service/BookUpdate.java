@@ -0,0 +1,9 @@
+package com.bookstore.service;
+
+/**
+ * One entry of a bulk catalog update. The book is addressed by {@code id} or, when that
+ * is absent, by {@code isbn}. {@code price} replaces the current price and
+ * {@code stockDelta} is added to the stock; either may be omitted.
+ */
+public record BookUpdate(Long id, String isbn, Double price, Integer stockDelta) {
+}
@@ -0,0 +1,12 @@
+package com.bookstore.service;
+
+import java.util.List;
+
+public record BookUpdateResult(int requested, int updated, List<Rejected> rejected) {
+
+    /**
+     * An entry that was not applied; {@code index} is its position in the request.
+     */
+    public record Rejected(int index, Long id, String isbn, String message) {
+    }
+}
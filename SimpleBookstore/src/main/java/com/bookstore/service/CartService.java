@@ -2,7 +2,9 @@ package com.bookstore.service;
 
 import com.bookstore.model.Book;
 import com.bookstore.model.CartItem;
+import com.bookstore.monitoring.CartTotalEvent;
 import com.bookstore.repository.CartItemRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,6 +12,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Observed(name = "bookstore.service")
 public class CartService {
 
     @Autowired
@@ -18,6 +21,7 @@ public class CartService {
     @Autowired
     private BookService bookService;
 
+    @Transactional(readOnly = true)
     public List<CartItem> getCartItems(String sessionId) {
         return cartItemRepository.findBySessionId(sessionId);
     }
@@ -54,7 +58,10 @@ public class CartService {
         cartItemRepository.deleteBySessionId(sessionId);
     }
 
+    @Transactional(readOnly = true)
     public Double calculateCartTotal(String sessionId) {
+        CartTotalEvent event = new CartTotalEvent();
+        event.begin();
         List<CartItem> cartItems = getCartItems(sessionId);
         double total = 0.0;
 
@@ -65,6 +72,12 @@ public class CartService {
             }
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.cartItems = cartItems.size();
+            event.total = total;
+            event.commit();
+        }
         return total;
     }
 }
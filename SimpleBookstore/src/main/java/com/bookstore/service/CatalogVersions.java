@@ -0,0 +1,82 @@
+package com.bookstore.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory version counters for the catalog, used to answer conditional GETs without
+ * reading the database. ETags include the instance start time, so a restart invalidates
+ * every ETag handed out before it. The counters are per instance; running several
+ * instances against one database would need a shared version source instead.
+ */
+@Component
+public class CatalogVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final Instant startedAt = Instant.ofEpochMilli(epoch);
+    private final AtomicReference<Version> catalog = new AtomicReference<>(new Version(0, startedAt));
+    private final Map<Long, Version> books = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Instant invalidatedAt = startedAt;
+
+    public Stamp catalog() {
+        Version version = catalog.get();
+        return new Stamp("\"" + epoch + "." + generation.get() + "-" + version.number() + "\"", version.modifiedAt());
+    }
+
+    public Stamp book(Long bookId) {
+        Version version = books.getOrDefault(bookId, new Version(0, startedAt));
+        Instant invalidated = invalidatedAt;
+        Instant lastModified = version.modifiedAt().isAfter(invalidated) ? version.modifiedAt() : invalidated;
+        return new Stamp("\"" + epoch + "." + generation.get() + "-" + bookId + "-" + version.number() + "\"",
+                lastModified);
+    }
+
+    /**
+     * Records a change to a book and to the catalog as a whole. Inside a transaction the
+     * bump is deferred until it completes, so a concurrent reader never labels the old
+     * rows with the new ETag.
+     */
+    public void bookChanged(Long bookId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(bookId);
+                }
+            });
+        } else {
+            bump(bookId);
+        }
+    }
+
+    /**
+     * Invalidates every ETag at once, for changes that bypass {@link #bookChanged}. Per-book
+     * counters are kept rather than reset so that no ETag is ever handed out twice.
+     */
+    public void invalidateAll() {
+        Instant now = Instant.now();
+        invalidatedAt = now;
+        generation.incrementAndGet();
+        catalog.updateAndGet(version -> new Version(version.number() + 1, now));
+    }
+
+    private void bump(Long bookId) {
+        Instant now = Instant.now();
+        books.compute(bookId, (id, version) -> new Version(version == null ? 1 : version.number() + 1, now));
+        catalog.updateAndGet(version -> new Version(version.number() + 1, now));
+    }
+
+    private record Version(long number, Instant modifiedAt) {
+    }
+
+    public record Stamp(String etag, Instant lastModified) {
+    }
+}
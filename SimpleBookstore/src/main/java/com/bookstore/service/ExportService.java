@@ -0,0 +1,180 @@
+package com.bookstore.service;
+
+import com.bookstore.model.Book;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderItem;
+import com.bookstore.repository.BookRepository;
+import com.bookstore.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog or order history to a stream without building it in memory.
+ * Rows come from a forward-only cursor and each entity is detached once it has been
+ * written, so the persistence context never holds more than the current row.
+ */
+@Service
+public class ExportService {
+
+    private static final String[] BOOK_COLUMNS = {"id", "title", "author", "isbn", "price", "stock_quantity", "description"};
+    private static final String[] ORDER_COLUMNS = {"order_id", "order_date", "status", "customer_name", "customer_email",
+            "customer_address", "total_amount", "item_id", "book_id", "isbn", "title", "quantity", "price"};
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportBooks(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Book> books = bookRepository.streamAllForExport()) {
+            if (format == ExportFormat.CSV) {
+                return writeCsv(books.iterator(), out, BOOK_COLUMNS, (book, csv) -> csv.row(
+                        book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPrice(),
+                        book.getStockQuantity(), book.getDescription()));
+            }
+            return writeJson(books.iterator(), out, format == ExportFormat.NDJSON);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Order> orders = orderRepository.streamAllWithItemsForExport()) {
+            if (format == ExportFormat.CSV) {
+                // One line per order item; orders without items still get a line
+                return writeCsv(orders.iterator(), out, ORDER_COLUMNS, (order, csv) -> {
+                    List<OrderItem> items = order.getOrderItems() == null ? List.of() : order.getOrderItems();
+                    if (items.isEmpty()) {
+                        csv.row(order.getId(), order.getOrderDate(), order.getStatus(), order.getCustomerName(),
+                                order.getCustomerEmail(), order.getCustomerAddress(), order.getTotalAmount(),
+                                null, null, null, null, null, null);
+                    }
+                    for (OrderItem item : items) {
+                        Book book = item.getBook();
+                        csv.row(order.getId(), order.getOrderDate(), order.getStatus(), order.getCustomerName(),
+                                order.getCustomerEmail(), order.getCustomerAddress(), order.getTotalAmount(),
+                                item.getId(), book.getId(), book.getIsbn(), book.getTitle(), item.getQuantity(), item.getPrice());
+                    }
+                });
+            }
+            return writeJson(orders.iterator(), out, format == ExportFormat.NDJSON);
+        }
+    }
+
+    private long writeJson(Iterator<?> rows, OutputStream out, boolean ndjson) throws IOException {
+        // Flushing after every row would defeat the compression filter
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            } else {
+                generator.writeStartArray();
+            }
+            while (rows.hasNext()) {
+                Object row = rows.next();
+                writer.writeValue(generator, row);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                detach(row);
+                count++;
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, OutputStream out, String[] columns, CsvRowWriter<T> rowWriter) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvLine csv = new CsvLine(writer);
+        csv.row((Object[]) columns);
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            try {
+                rowWriter.write(row, csv);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            detach(row);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // Order.orderItems cascades ALL, so detaching an order detaches its items too
+    private void detach(Object entity) {
+        if (entity instanceof Order order && order.getOrderItems() != null) {
+            order.getOrderItems().forEach(item -> entityManager.detach(item.getBook()));
+        }
+        entityManager.detach(entity);
+    }
+
+    private interface CsvRowWriter<T> {
+        void write(T row, CsvLine csv);
+    }
+
+    // RFC 4180: fields containing a separator, quote or line break are quoted
+    private static final class CsvLine {
+
+        private final Writer writer;
+
+        CsvLine(Writer writer) {
+            this.writer = writer;
+        }
+
+        void row(Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    if (values[i] != null) {
+                        writer.write(escape(values[i].toString()));
+                    }
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -4,10 +4,15 @@ import com.bookstore.model.Book;
 import com.bookstore.model.CartItem;
 import com.bookstore.model.Order;
 import com.bookstore.model.OrderItem;
+import com.bookstore.monitoring.BusinessMetrics;
+import com.bookstore.monitoring.CheckoutEvent;
 import com.bookstore.repository.OrderRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -15,6 +20,7 @@ import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Observed(name = "bookstore.service")
 public class OrderService {
 
     @Autowired
@@ -26,30 +32,65 @@ public class OrderService {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private BusinessMetrics businessMetrics;
+
     @Transactional
     public Order createOrder(String sessionId, String customerName, String customerEmail, String customerAddress) {
+        CheckoutEvent event = new CheckoutEvent();
+        event.begin();
+        try {
+            Order order = placeOrder(sessionId, customerName, customerEmail, customerAddress, event);
+            event.orderId = order.getId() == null ? 0 : order.getId();
+            countAfterCommit();
+            commitAfterTransaction(event);
+            return order;
+        } catch (RuntimeException e) {
+            if (event.outcome == null) {
+                event.outcome = "FAILED";
+            }
+            event.detail = e.getMessage();
+            event.commit();
+            throw e;
+        }
+    }
+
+    private Order placeOrder(String sessionId, String customerName, String customerEmail, String customerAddress,
+                             CheckoutEvent event) {
         List<CartItem> cartItems = cartService.getCartItems(sessionId);
+        event.cartItems = cartItems.size();
 
         if (cartItems.isEmpty()) {
+            businessMetrics.emptyCart();
+            event.outcome = "EMPTY_CART";
             throw new RuntimeException("Cart is empty");
         }
 
         // Cache books and validate stock availability FIRST before creating any order
+        long validationStart = System.nanoTime();
         Map<Long, Book> bookCache = new HashMap<>();
         for (CartItem cartItem : cartItems) {
+            event.units += cartItem.getQuantity();
             Optional<Book> bookOpt = bookService.getBookById(cartItem.getBookId());
             if (bookOpt.isPresent()) {
                 Book book = bookOpt.get();
                 bookCache.put(book.getId(), book);
 
                 if (book.getStockQuantity() < cartItem.getQuantity()) {
+                    businessMetrics.insufficientStock();
+                    event.outcome = "INSUFFICIENT_STOCK";
                     throw new RuntimeException("Insufficient stock for book: " + book.getTitle());
                 }
             } else {
+                businessMetrics.bookNotFound();
+                event.outcome = "BOOK_NOT_FOUND";
                 throw new RuntimeException("Book not found with ID: " + cartItem.getBookId());
             }
         }
 
+        event.stockValidation = System.nanoTime() - validationStart;
+
+        long persistStart = System.nanoTime();
         double totalAmount = 0.0;
         List<OrderItem> orderItems = new ArrayList<>();
 
@@ -78,21 +119,60 @@ public class OrderService {
         // Clear cart
         cartService.clearCart(sessionId);
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        event.persist = System.nanoTime() - persistStart;
+        return saved;
+    }
+
+    // An order only counts as created once its transaction has committed
+    private void countAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            businessMetrics.orderCreated();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                businessMetrics.orderCreated();
+            }
+        });
+    }
+
+    // Ending the event when the transaction completes puts the commit inside its duration
+    private static void commitAfterTransaction(CheckoutEvent event) {
+        if (!event.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            event.outcome = "COMMITTED";
+            event.commit();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                event.outcome = status == STATUS_COMMITTED ? "COMMITTED" : "ROLLED_BACK";
+                event.commit();
+            }
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Order> getOrderById(Long id) {
         return orderRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByCustomerEmail(String email) {
         return orderRepository.findByCustomerEmailOrderByOrderDateDesc(email);
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByStatus(String status) {
         return orderRepository.findByStatusOrderByOrderDateDesc(status);
     }
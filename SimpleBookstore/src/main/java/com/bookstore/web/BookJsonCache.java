@@ -0,0 +1,114 @@
+package com.bookstore.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * UTF-8 JSON for hot catalog responses, encoded once and reused until the catalog
+ * version changes. Each entry is tagged with the ETag it was built for; a request with
+ * a newer ETag rebuilds it, so writes never need to evict explicitly. At most
+ * {@code max-entries} keys are kept; the least recently used one makes room for a new
+ * key. Compressed variants are built on first request for each encoding.
+ */
+@Component
+public class BookJsonCache {
+
+    private final Map<String, Json> entries;
+    private final ObjectMapper objectMapper;
+    private final Compression compression;
+    private final int maxEntries;
+
+    public BookJsonCache(ObjectMapper objectMapper, Compression compression,
+                         @Value("${bookstore.json-cache.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.compression = compression;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Json> eldest) {
+                return size() > BookJsonCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached JSON for {@code key} if it was built for {@code etag}, otherwise
+     * loads and encodes the value. An empty result from the loader is not cached.
+     */
+    public Optional<Json> get(String key, String etag, Supplier<Optional<?>> loader) {
+        Json cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.etag.equals(etag)) {
+            return Optional.of(cached);
+        }
+        // Loaded and encoded outside the lock so a slow load does not hold up other keys
+        Optional<?> value = loader.get();
+        if (value.isEmpty()) {
+            synchronized (entries) {
+                entries.remove(key);
+            }
+            return Optional.empty();
+        }
+        Json json = new Json(etag, encode(value.get()), compression);
+        synchronized (entries) {
+            entries.put(key, json);
+        }
+        return Optional.of(json);
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    boolean contains(String key) {
+        synchronized (entries) {
+            return entries.containsKey(key);
+        }
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    public static final class Json {
+
+        private final String etag;
+        private final byte[] bytes;
+        private final Compression compression;
+        private final Map<String, byte[]> encoded = new ConcurrentHashMap<>(2);
+
+        private Json(String etag, byte[] bytes, Compression compression) {
+            this.etag = etag;
+            this.bytes = bytes;
+            this.compression = compression;
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        public boolean isCompressible() {
+            return bytes.length >= compression.getMinSize();
+        }
+
+        public byte[] encoded(String encoding) {
+            return encoded.computeIfAbsent(encoding, key -> compression.compress(bytes, key));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.bookstore.web;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response encodings the application can produce, and the settings shared by
+ * {@link CompressionFilter} and {@link BookJsonCache}. zstd is preferred over gzip when
+ * the client accepts both with the same weight. Brotli is not offered: encoding it from
+ * Java needs a per-platform native artifact, and at the quality levels cheap enough for
+ * dynamic responses it compresses JSON no better than zstd. Native images offer gzip only.
+ * With {@code bookstore.compression.enabled=false} no encoding is offered at all, which
+ * also keeps the pre-encoded bodies of {@link BookJsonCache} uncompressed.
+ */
+@Component
+public class Compression {
+
+    public static final String ZSTD = "zstd";
+    public static final String GZIP = "gzip";
+
+    private static final Logger log = LoggerFactory.getLogger(Compression.class);
+
+    private final int minSize;
+    private final int gzipLevel;
+    private final int zstdLevel;
+    private final List<MediaType> mimeTypes;
+    private final List<String> encodings;
+
+    public Compression(@Value("${bookstore.compression.enabled:true}") boolean enabled,
+                       @Value("${bookstore.compression.min-size:2048}") int minSize,
+                       @Value("${bookstore.compression.gzip-level:6}") int gzipLevel,
+                       @Value("${bookstore.compression.zstd-level:3}") int zstdLevel,
+                       @Value("${bookstore.compression.zstd-enabled:true}") boolean zstdEnabled,
+                       @Value("${bookstore.compression.mime-types:application/json,application/x-ndjson,text/csv}") List<MediaType> mimeTypes) {
+        this.minSize = minSize;
+        this.gzipLevel = gzipLevel;
+        this.zstdLevel = zstdLevel;
+        this.mimeTypes = mimeTypes;
+        if (!enabled) {
+            this.encodings = List.of();
+        } else {
+            this.encodings = zstdEnabled && zstdAvailable() ? List.of(ZSTD, GZIP) : List.of(GZIP);
+        }
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mimeTypes.stream().anyMatch(type -> type.includes(mediaType));
+    }
+
+    /**
+     * Picks the encoding with the highest weight in {@code Accept-Encoding}, breaking ties
+     * in favour of zstd. Empty when the client accepts none of ours.
+     */
+    public Optional<String> negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return Optional.empty();
+        }
+        List<String> names = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            double weight = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        weight = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        weight = 0;
+                    }
+                }
+            }
+            names.add(tokens[0].trim().toLowerCase(Locale.ROOT));
+            weights.add(weight);
+        }
+
+        String best = null;
+        double bestWeight = 0;
+        for (String encoding : encodings) {
+            int index = names.indexOf(encoding);
+            if (index < 0) {
+                index = names.indexOf("*");
+            }
+            double weight = index < 0 ? 0 : weights.get(index);
+            if (weight > bestWeight) {
+                best = encoding;
+                bestWeight = weight;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public OutputStream compressing(OutputStream out, String encoding) throws IOException {
+        if (ZSTD.equals(encoding)) {
+            return new ZstdOutputStream(out, zstdLevel);
+        }
+        if (GZIP.equals(encoding)) {
+            return new GZIPOutputStream(out, 8192, true) {
+                {
+                    def.setLevel(gzipLevel);
+                }
+            };
+        }
+        throw new IllegalArgumentException("Unsupported encoding: " + encoding);
+    }
+
+    public byte[] compress(byte[] bytes, String encoding) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (OutputStream compressing = compressing(out, encoding)) {
+            compressing.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The strong ETag for a body sent with {@code encoding}. Strong validators must differ
+     * per content coding, so a coding suffix is added inside the quotes ({@code "v-gz"},
+     * {@code "v-zst"}); weak ETags are returned unchanged.
+     */
+    public static String etag(String etag, String encoding) {
+        if (etag == null || etag.startsWith("W/") || etag.length() < 2 || !etag.endsWith("\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + etagSuffix(encoding) + "\"";
+    }
+
+    /**
+     * The entity tag from {@code If-None-Match} that matches {@code etag} in any coding we
+     * produce, using the weak comparison that RFC 9110 prescribes for If-None-Match.
+     */
+    public static Optional<String> matchIfNoneMatch(String[] ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return Optional.empty();
+        }
+        List<String> variants = List.of(etag, etag(etag, GZIP), etag(etag, ZSTD));
+        for (String header : ifNoneMatch) {
+            for (String tag : header.split(",")) {
+                String candidate = tag.trim();
+                if ("*".equals(candidate)) {
+                    return Optional.of(etag);
+                }
+                String opaque = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+                if (variants.contains(opaque)) {
+                    return Optional.of(opaque);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String etagSuffix(String encoding) {
+        return switch (encoding) {
+            case GZIP -> "gz";
+            case ZSTD -> "zst";
+            default -> encoding;
+        };
+    }
+
+    private static boolean zstdAvailable() {
+        // zstd-jni extracts and loads its library at runtime, which a native image cannot do
+        if (NativeDetector.inNativeImage()) {
+            log.info("Running as a native image, zstd disabled");
+            return false;
+        }
+        try {
+            Native.load();
+            return true;
+        } catch (LinkageError e) {
+            log.warn("zstd native library unavailable on this platform, falling back to gzip only: {}", e.toString());
+            return false;
+        }
+    }
+}
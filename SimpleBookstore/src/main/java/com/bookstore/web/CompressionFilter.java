@@ -0,0 +1,252 @@
+package com.bookstore.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Optional;
+
+/**
+ * Compresses response bodies on the fly with the encoding negotiated by
+ * {@link Compression}. The first {@code min-size} bytes are buffered; a body that ends
+ * before that is sent as is. Responses that already carry a {@code Content-Encoding}
+ * (such as the pre-compressed bytes from {@link BookJsonCache}) are passed through.
+ * A strong {@code ETag} on a compressed response gets the coding suffix from
+ * {@link Compression#etag}.
+ * <p>
+ * Async responses (exports, NDJSON streams) keep the wrapper across the async dispatch
+ * and are finished when it completes. An explicit flush from the application is passed
+ * on as a sync flush, so streamed elements still reach the client as they are written.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final Compression compression;
+
+    public CompressionFilter(Compression compression) {
+        this.compression = compression;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // The async dispatch reuses the wrapped response passed to startAsync()
+        CompressingResponse resumed = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (resumed != null) {
+            filterChain.doFilter(request, response);
+            if (!request.isAsyncStarted()) {
+                resumed.finish();
+            }
+            return;
+        }
+
+        Optional<String> encoding = compression.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding.isEmpty() || "HEAD".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CompressingResponse wrapped = new CompressingResponse(response, encoding.get());
+        filterChain.doFilter(request, wrapped);
+        if (!request.isAsyncStarted()) {
+            wrapped.finish();
+        }
+    }
+
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final String encoding;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+        private boolean compressing;
+        private boolean finished;
+        private long contentLength = -1;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CompressingResponse(HttpServletResponse response, String encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        // Content-Length is held back until we know whether the body is compressed
+        @Override
+        public void setContentLength(int len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength = value == null ? -1 : Long.parseLong(value);
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setHeader(name, value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (outputStream == null) {
+                outputStream = new BufferingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (outputStream != null && writer == null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            if (writer == null) {
+                outputStream = new BufferingOutputStream();
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        // Flushes are held while buffering, otherwise every body would be committed
+        // uncompressed by the message converter's final flush
+        @Override
+        public void flushBuffer() throws IOException {
+            if (target != null) {
+                target.flush();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (target == null) {
+                buffer.reset();
+            }
+            super.resetBuffer();
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null && buffer.size() + length < compression.getMinSize()) {
+                buffer.write(bytes, offset, length);
+                return;
+            }
+            if (target == null) {
+                target = shouldCompress() ? startCompressing() : startPlain();
+                buffer.writeTo(target);
+                buffer.reset();
+            }
+            target.write(bytes, offset, length);
+        }
+
+        private boolean shouldCompress() {
+            return getStatus() != HttpServletResponse.SC_NO_CONTENT
+                    && getStatus() != HttpServletResponse.SC_PARTIAL_CONTENT
+                    && !containsHeader(HttpHeaders.CONTENT_ENCODING)
+                    && compression.isCompressible(getContentType());
+        }
+
+        private OutputStream startCompressing() throws IOException {
+            compressing = true;
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null) {
+                super.setHeader(HttpHeaders.ETAG, Compression.etag(etag, encoding));
+            }
+            return compression.compressing(getResponse().getOutputStream(), encoding);
+        }
+
+        private OutputStream startPlain() throws IOException {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            return getResponse().getOutputStream();
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (writer != null) {
+                writer.flush();
+            }
+            // Nothing touches the underlying stream for an empty body, so an error page can
+            // still use getWriter() on it
+            if (target == null && buffer.size() > 0) {
+                if (contentLength < 0) {
+                    contentLength = buffer.size();
+                }
+                target = startPlain();
+                buffer.writeTo(target);
+                buffer.reset();
+            } else if (compressing) {
+                target.close();
+            }
+        }
+
+        private class BufferingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                CompressingResponse.this.write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                CompressingResponse.this.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                flushBuffer();
+            }
+
+            @Override
+            public void close() throws IOException {
+                finish();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException("Non-blocking writes are not compressed");
+            }
+        }
+    }
+}
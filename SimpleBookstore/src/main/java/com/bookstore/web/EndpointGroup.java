@@ -0,0 +1,84 @@
+package com.bookstore.web;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * A named set of endpoints sharing one {@link AdaptiveConcurrencyLimit}, one per-session
+ * rate and one per-address rate for requests without a session.
+ */
+public class EndpointGroup {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final String name;
+    private final List<Endpoint> endpoints;
+    private final AdaptiveConcurrencyLimit limit;
+    private final double rate;
+    private final int burst;
+    private final double addressRate;
+    private final int addressBurst;
+
+    public EndpointGroup(String name, List<String> endpoints, AdaptiveConcurrencyLimit limit, double rate, int burst,
+                         double addressRate, int addressBurst) {
+        this.name = name;
+        this.endpoints = endpoints.stream().map(Endpoint::parse).toList();
+        this.limit = limit;
+        this.rate = rate;
+        this.burst = burst;
+        this.addressRate = addressRate;
+        this.addressBurst = addressBurst;
+    }
+
+    public static EndpointGroup of(String name, LoadSheddingProperties.Group group) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(group.getInitialLimit(), group.getMinLimit(),
+                group.getMaxLimit(), group.getLatencyTarget(), group.getBackoffRatio());
+        return new EndpointGroup(name, group.getEndpoints(), limit, group.getRate(), group.getBurst(),
+                group.getAddressRate(), group.getAddressBurst());
+    }
+
+    public boolean matches(String method, String path) {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.method.equals(method) && PATHS.match(endpoint.pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AdaptiveConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    public boolean isRateLimited() {
+        return rate > 0;
+    }
+
+    public TokenBucket newBucket(long nowNanos) {
+        return new TokenBucket(rate, burst, nowNanos);
+    }
+
+    public boolean isAddressRateLimited() {
+        return addressRate > 0;
+    }
+
+    public TokenBucket newAddressBucket(long nowNanos) {
+        return new TokenBucket(addressRate, addressBurst, nowNanos);
+    }
+
+    private record Endpoint(String method, String pattern) {
+
+        static Endpoint parse(String endpoint) {
+            String[] parts = endpoint.trim().split("\\s+");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected 'METHOD /path' but got '" + endpoint + "'");
+            }
+            return new Endpoint(parts[0], parts[1]);
+        }
+    }
+}
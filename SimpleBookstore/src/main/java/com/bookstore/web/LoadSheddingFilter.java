@@ -0,0 +1,155 @@
+package com.bookstore.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the write endpoints, so that a burst of checkouts or cart updates
+ * cannot take all connections from the pool and slow down the catalog reads with them.
+ * A request matching one of the {@link EndpointGroup}s first takes a token from its
+ * session's bucket for the group and gets {@code 429} when there is none, then takes a
+ * slot in the group's {@link AdaptiveConcurrencyLimit} and gets {@code 503} when the group
+ * is at its limit. Both answers are immediate, carry {@code Retry-After} and have no body.
+ * Requests without a session, like the one that creates it, take their token from a bucket
+ * for their client address instead, at the group's separate and much higher address rate;
+ * the {@code maxAddresses} most recently seen addresses keep theirs, per group. The address
+ * is {@link HttpServletRequest#getRemoteAddr()}, which Tomcat sets from
+ * {@code X-Forwarded-For} when the request comes through a trusted proxy
+ * ({@code server.forward-headers-strategy=native}). Requests outside every group, the
+ * reads, pass straight through.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    static final String BUCKET_ATTRIBUTE = LoadSheddingFilter.class.getName() + ".bucket.";
+
+    private final List<EndpointGroup> groups;
+    private final Map<String, Map<String, TokenBucket>> addressBuckets = new HashMap<>();
+    private final Map<String, Counter> rateLimited = new HashMap<>();
+    private final Map<String, Counter> overloaded = new HashMap<>();
+
+    public LoadSheddingFilter(List<EndpointGroup> groups, int maxAddresses, MeterRegistry registry) {
+        this.groups = groups;
+        for (EndpointGroup group : groups) {
+            addressBuckets.put(group.getName(), new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                    return size() > maxAddresses;
+                }
+            });
+            AdaptiveConcurrencyLimit limit = group.getLimit();
+            Gauge.builder("bookstore.load-shedding.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("group", group.getName())
+                    .description("Current adaptive concurrency limit")
+                    .register(registry);
+            Gauge.builder("bookstore.load-shedding.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("group", group.getName())
+                    .description("Requests currently admitted")
+                    .register(registry);
+            rateLimited.put(group.getName(), rejected(registry, group, "rate_limited"));
+            overloaded.put(group.getName(), rejected(registry, group, "overloaded"));
+        }
+    }
+
+    private static Counter rejected(MeterRegistry registry, EndpointGroup group, String reason) {
+        return Counter.builder("bookstore.load-shedding.rejected")
+                .tag("group", group.getName())
+                .tag("reason", reason)
+                .description("Requests turned away before reaching the application")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointGroup group = match(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = bucket(request, group, now);
+        if (bucket != null) {
+            long wait = bucket.tryConsume(now);
+            if (wait > 0) {
+                rateLimited.get(group.getName()).increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, wait);
+                return;
+            }
+        }
+
+        AdaptiveConcurrencyLimit limit = group.getLimit();
+        if (!limit.tryAcquire()) {
+            overloaded.get(group.getName()).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - now, failed);
+        }
+    }
+
+    private EndpointGroup match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (EndpointGroup group : groups) {
+            if (group.matches(request.getMethod(), path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private TokenBucket bucket(HttpServletRequest request, EndpointGroup group, long now) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            return group.isRateLimited() ? bucket(session, group, now) : null;
+        }
+        return group.isAddressRateLimited() ? bucket(request.getRemoteAddr(), group, now) : null;
+    }
+
+    private static TokenBucket bucket(HttpSession session, EndpointGroup group, long now) {
+        String attribute = BUCKET_ATTRIBUTE + group.getName();
+        synchronized (WebUtils.getSessionMutex(session)) {
+            TokenBucket bucket = (TokenBucket) session.getAttribute(attribute);
+            if (bucket == null) {
+                bucket = group.newBucket(now);
+                session.setAttribute(attribute, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    private TokenBucket bucket(String address, EndpointGroup group, long now) {
+        Map<String, TokenBucket> buckets = addressBuckets.get(group.getName());
+        synchronized (buckets) {
+            return buckets.computeIfAbsent(address, key -> group.newAddressBucket(now));
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+    }
+}
@@ -0,0 +1,132 @@
+package com.bookstore.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code bookstore.load-shedding.groups.<name>.*}: the endpoints of each group, given as
+ * {@code METHOD /ant/path/**}, with the bounds of its concurrency limit and its
+ * per-session rate. A rate of 0 turns the rate limit off for the group. Requests without
+ * a session, such as a shopper's first add to cart, are limited by client address at
+ * {@code address-rate} instead; one address can stand for many shoppers behind a proxy or
+ * NAT, so that rate is set much higher. Buckets are kept for the {@code max-addresses} most
+ * recent addresses per group.
+ */
+public class LoadSheddingProperties {
+
+    private int maxAddresses = 10_000;
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public int getMaxAddresses() {
+        return maxAddresses;
+    }
+
+    public void setMaxAddresses(int maxAddresses) {
+        this.maxAddresses = maxAddresses;
+    }
+
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+
+        private List<String> endpoints = new ArrayList<>();
+        private int initialLimit = 10;
+        private int minLimit = 1;
+        private int maxLimit = 100;
+        private Duration latencyTarget = Duration.ofMillis(250);
+        private double backoffRatio = 0.9;
+        private double rate;
+        private int burst = 1;
+        private double addressRate;
+        private int addressBurst = 1;
+
+        public List<String> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(List<String> endpoints) {
+            this.endpoints = endpoints;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getLatencyTarget() {
+            return latencyTarget;
+        }
+
+        public void setLatencyTarget(Duration latencyTarget) {
+            this.latencyTarget = latencyTarget;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public double getAddressRate() {
+            return addressRate;
+        }
+
+        public void setAddressRate(double addressRate) {
+            this.addressRate = addressRate;
+        }
+
+        public int getAddressBurst() {
+            return addressBurst;
+        }
+
+        public void setAddressBurst(int addressBurst) {
+            this.addressBurst = addressBurst;
+        }
+    }
+}
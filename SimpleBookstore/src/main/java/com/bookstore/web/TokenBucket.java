@@ -0,0 +1,47 @@
+package com.bookstore.web;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled continuously at {@code rate} tokens per second up to
+ * {@code burst} tokens. Starts full. Serializable so that it can live in a session that
+ * is persisted or replicated; a clock that appears to go backwards after a move to
+ * another JVM refills nothing rather than taking tokens away.
+ */
+public class TokenBucket implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double rate, int burst, long nowNanos) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1, got rate %s, burst %d"
+                    .formatted(rate, burst));
+        }
+        this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * Takes one token. Returns 0 when one was available, otherwise how many nanoseconds
+     * until the next one is, without taking it.
+     */
+    public synchronized long tryConsume(long nowNanos) {
+        tokens = Math.min(capacity, tokens + Math.max(0, nowNanos - refilledAt) * tokensPerNano);
+        refilledAt = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,45 @@
+create table book (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    author varchar(255) not null,
+    isbn varchar(255) unique,
+    price float(53) not null,
+    description TEXT,
+    stock_quantity integer,
+    primary key (id)
+);
+
+create table cart_items (
+    id bigint generated by default as identity,
+    book_id bigint not null,
+    quantity integer not null,
+    session_id varchar(255) not null,
+    primary key (id)
+);
+
+create table orders (
+    id bigint generated by default as identity,
+    customer_name varchar(255) not null,
+    customer_email varchar(255) not null,
+    customer_address TEXT not null,
+    order_date timestamp(6),
+    total_amount float(53) not null,
+    status varchar(255) not null,
+    primary key (id)
+);
+
+create table order_items (
+    id bigint generated by default as identity,
+    order_id bigint not null,
+    book_id bigint not null,
+    quantity integer not null,
+    price float(53) not null,
+    primary key (id)
+);
+
+alter table order_items add constraint fk_order_items_order foreign key (order_id) references orders;
+alter table order_items add constraint fk_order_items_book foreign key (book_id) references book;
+
+create index idx_cart_items_session on cart_items (session_id, book_id);
+create index idx_orders_customer_email on orders (customer_email, order_date);
+create index idx_orders_status on orders (status, order_date);
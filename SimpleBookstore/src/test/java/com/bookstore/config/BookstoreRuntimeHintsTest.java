@@ -0,0 +1,55 @@
+package com.bookstore.config;
+
+import com.bookstore.model.Book;
+import com.bookstore.model.Order;
+import com.bookstore.service.BookImportResult;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookstoreRuntimeHints Tests")
+class BookstoreRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new BookstoreRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should register JSON binding hints for entities and bulk API records")
+    void shouldRegisterBindingHints_forSerializedTypes() throws Exception {
+        // Act & Assert
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Book.class.getMethod("getTitle"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Order.class.getMethod("getOrderItems"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(BookImportResult.RowError.class.getMethod("messages"))).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register the JDK proxies created by datasource-proxy")
+    void shouldRegisterJdbcProxies() {
+        // Act & Assert
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, Connection.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register seed datasets, cache configuration and the virtual-thread factory")
+    void shouldRegisterResourcesAndReflectiveLookups() {
+        // Act & Assert
+        assertThat(RuntimeHintsPredicates.resource().forResource("seed/staging.csv.gz")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("ehcache.xml")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Executors.class)).accepts(hints);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bookstore.config;
+
+import com.bookstore.repository.BookRepository;
+import com.bookstore.service.BookBulkService;
+import com.bookstore.service.BookImportResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DataInitializer Tests")
+class DataInitializerTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookBulkService bookBulkService;
+
+    @Spy
+    private ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    @InjectMocks
+    private DataInitializer dataInitializer;
+
+    @Test
+    @DisplayName("Should import the decompressed sample dataset when the catalog is empty")
+    void shouldImportSampleDataset_whenCatalogIsEmpty() throws Exception {
+        // Arrange
+        when(bookRepository.count()).thenReturn(0L);
+        when(bookBulkService.importCsv(any())).thenAnswer(invocation -> {
+            String csv = new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv).startsWith("title,author,isbn,price,stock_quantity,description\r\n").contains("978-0-452-28423-4");
+            return new BookImportResult(5, 5, 0, List.of(), false);
+        });
+
+        // Act
+        dataInitializer.run();
+
+        // Assert
+        verify(bookBulkService).importCsv(any());
+    }
+
+    @Test
+    @DisplayName("Should not seed when the catalog already has books")
+    void shouldNotSeed_whenCatalogHasBooks() throws Exception {
+        // Arrange
+        when(bookRepository.count()).thenReturn(3L);
+
+        // Act
+        dataInitializer.run();
+
+        // Assert
+        verifyNoInteractions(bookBulkService);
+    }
+
+    @Test
+    @DisplayName("Should not seed when the dataset is none")
+    void shouldNotSeed_whenDatasetIsNone() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(dataInitializer, "dataset", "none");
+
+        // Act
+        dataInitializer.run();
+
+        // Assert
+        verifyNoInteractions(bookRepository, bookBulkService);
+    }
+
+    @Test
+    @DisplayName("Should fail startup when the dataset does not exist")
+    void shouldFail_whenDatasetIsUnknown() {
+        // Arrange
+        ReflectionTestUtils.setField(dataInitializer, "dataset", "missing");
+        when(bookRepository.count()).thenReturn(0L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> dataInitializer.run())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Unknown seed dataset 'missing'");
+    }
+}
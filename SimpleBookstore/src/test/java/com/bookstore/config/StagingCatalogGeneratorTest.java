@@ -0,0 +1,73 @@
+package com.bookstore.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StagingCatalogGenerator Tests")
+class StagingCatalogGeneratorTest {
+
+    private static final Pattern ISBN = Pattern.compile("978-0-\\d{4}-\\d{4}-\\d");
+
+    @Test
+    @DisplayName("Should write the sample titles followed by generated ones up to the book count")
+    void shouldStartWithSampleTitles_whenGenerating() throws Exception {
+        // Act
+        List<String> lines = generate(500);
+
+        // Assert
+        assertThat(lines).hasSize(501);
+        assertThat(lines.get(0)).isEqualTo("title,author,isbn,price,stock_quantity,description");
+        assertThat(lines.get(1)).startsWith("The Great Gatsby,");
+        assertThat(lines.subList(6, lines.size())).allSatisfy(line -> assertThat(line).contains("and what remains."));
+    }
+
+    @Test
+    @DisplayName("Should produce the same catalog with unique ISBNs on every run")
+    void shouldBeDeterministicWithUniqueIsbns_whenGeneratedTwice() throws Exception {
+        // Act
+        List<String> first = generate(2000);
+        List<String> second = generate(2000);
+
+        // Assert
+        assertThat(first).isEqualTo(second);
+        List<String> generatedIsbns = first.subList(6, first.size()).stream()
+                .map(line -> ISBN.matcher(line).results().findFirst().orElseThrow().group())
+                .toList();
+        assertThat(generatedIsbns).doesNotHaveDuplicates().hasSize(1995);
+    }
+
+    @Test
+    @DisplayName("Should write only generated rows with the given ISBN prefix and a fixed stock")
+    void shouldUsePrefixAndStock_whenWritingWithParameters() throws Exception {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        StagingCatalogGenerator.write(out, 100, 7, "9791", 1_000_000);
+        List<String> lines = Arrays.asList(out.toString().split("\r\n"));
+
+        // Assert
+        assertThat(lines).hasSize(101);
+        assertThat(lines.get(0)).isEqualTo("title,author,isbn,price,stock_quantity,description");
+        assertThat(lines.subList(1, lines.size())).allSatisfy(line -> {
+            assertThat(line).containsPattern(",979-1-\\d{4}-\\d{4}-\\d,");
+            assertThat(line).containsPattern(",1000000,");
+        });
+        assertThatThrownBy(() -> StagingCatalogGenerator.write(new StringWriter(), 1, 7, "12", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> generate(int books) throws Exception {
+        StringWriter out = new StringWriter();
+        StagingCatalogGenerator.write(books, out);
+        return Arrays.asList(out.toString().split("\r\n"));
+    }
+}
@@ -2,20 +2,37 @@ package com.bookstore.controller;
 
 import com.bookstore.model.Book;
 import com.bookstore.service.BookService;
+import com.bookstore.service.CatalogVersions;
+import com.bookstore.service.ExportFormat;
+import com.bookstore.service.ExportService;
+import com.bookstore.web.BookJsonCache;
+import com.bookstore.web.Compression;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +42,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookController.class)
+@Import({CatalogVersions.class, BookJsonCache.class, Compression.class})
 @DisplayName("BookController Tests")
 class BookControllerTest {
 
@@ -34,9 +52,15 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private ExportService exportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     private Book testBook;
     private List<Book> testBooks;
 
@@ -49,6 +73,9 @@ class BookControllerTest {
         testBook2.setId(2L);
 
         testBooks = Arrays.asList(testBook, testBook2);
+
+        // The mocked service changes data without bumping versions
+        catalogVersions.invalidateAll();
     }
 
     @Test
@@ -175,8 +202,7 @@ class BookControllerTest {
         Book updatedBook = new Book("Updated Book", "Updated Author", "123-456-789", 24.99, "Updated Description", 15);
         updatedBook.setId(1L);
 
-        when(bookService.getBookById(1L)).thenReturn(Optional.of(testBook));
-        when(bookService.saveBook(any(Book.class))).thenReturn(updatedBook);
+        when(bookService.updateBook(eq(1L), any(Book.class))).thenReturn(Optional.of(updatedBook));
 
         // Act & Assert
         mockMvc.perform(put("/api/books/1")
@@ -187,8 +213,7 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.title", is("Updated Book")))
                 .andExpect(jsonPath("$.author", is("Updated Author")));
 
-        verify(bookService).getBookById(1L);
-        verify(bookService).saveBook(any(Book.class));
+        verify(bookService).updateBook(eq(1L), any(Book.class));
     }
 
     @Test
@@ -196,7 +221,7 @@ class BookControllerTest {
     void shouldReturn404_whenUpdatingNonExistentBook() throws Exception {
         // Arrange
         Book updatedBook = new Book("Updated Book", "Updated Author", "123-456-789", 24.99, "Updated Description", 15);
-        when(bookService.getBookById(999L)).thenReturn(Optional.empty());
+        when(bookService.updateBook(eq(999L), any(Book.class))).thenReturn(Optional.empty());
 
         // Act & Assert
         mockMvc.perform(put("/api/books/999")
@@ -204,7 +229,7 @@ class BookControllerTest {
                 .content(objectMapper.writeValueAsString(updatedBook)))
                 .andExpect(status().isNotFound());
 
-        verify(bookService).getBookById(999L);
+        verify(bookService).updateBook(eq(999L), any(Book.class));
         verify(bookService, never()).saveBook(any());
     }
 
@@ -247,4 +272,217 @@ class BookControllerTest {
 
         verify(bookService, never()).saveBook(any());
     }
+
+    @Test
+    @DisplayName("GET /api/books should set ETag, Last-Modified and Cache-Control")
+    void shouldSetValidators_whenGetAllBooks() throws Exception {
+        // Arrange
+        when(bookService.getAllBooks()).thenReturn(testBooks);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersions.catalog().etag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    @DisplayName("GET /api/books should return 304 without querying when ETag matches")
+    void shouldReturn304WithoutQuerying_whenCatalogETagMatches() throws Exception {
+        // Arrange
+        String etag = catalogVersions.catalog().etag();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /api/books should return 304 when the ETag of a compressed variant matches")
+    void shouldReturn304_whenCompressedVariantETagMatches() throws Exception {
+        // Arrange
+        String etag = Compression.etag(catalogVersions.catalog().etag(), Compression.ZSTD);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /api/books/{id} should return 304 without querying when ETag matches")
+    void shouldReturn304WithoutQuerying_whenBookETagMatches() throws Exception {
+        // Arrange
+        String etag = catalogVersions.book(1L).etag();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /api/books/{id} should return fresh body after the book changed")
+    void shouldReturnBody_whenBookChangedSinceETag() throws Exception {
+        // Arrange
+        String staleEtag = catalogVersions.book(1L).etag();
+        catalogVersions.bookChanged(1L);
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(testBook));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersions.book(1L).etag()))
+                .andExpect(jsonPath("$.title", is("Test Book")));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/{id} should keep other books' ETags when one book changes")
+    void shouldKeepOtherBookETag_whenDifferentBookChanged() throws Exception {
+        // Arrange
+        String etag = catalogVersions.book(2L).etag();
+        catalogVersions.bookChanged(1L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /api/books/{id} should serve cached JSON until the book changes")
+    void shouldReuseCachedJson_untilBookChanges() throws Exception {
+        // Arrange
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(testBook));
+
+        // Act
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Test Book")));
+        catalogVersions.bookChanged(1L);
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+
+        // Assert
+        verify(bookService, times(2)).getBookById(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/books should return gzipped JSON when client accepts gzip")
+    void shouldReturnGzippedJson_whenGzipAccepted() throws Exception {
+        // Arrange
+        List<Book> manyBooks = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            Book book = new Book("Book " + id, "Author " + id, "isbn-" + id, 9.99, "Description " + id, 1);
+            book.setId(id);
+            manyBooks.add(book);
+        }
+        when(bookService.getAllBooks()).thenReturn(manyBooks);
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/books").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, Compression.etag(catalogVersions.catalog().etag(), Compression.GZIP)))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        String json;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(objectMapper.readTree(json)).hasSize(40);
+        assertThat(json).isEqualTo(objectMapper.writeValueAsString(manyBooks));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/{id} should not gzip small payloads")
+    void shouldNotGzip_whenPayloadIsSmall() throws Exception {
+        // Arrange
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(testBook));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.title", is("Test Book")));
+    }
+
+    @Test
+    @DisplayName("GET /api/books/export should stream CSV as an attachment")
+    void shouldStreamCsvAttachment_whenExportingBooksAsCsv() throws Exception {
+        // Arrange
+        when(exportService.exportBooks(eq(ExportFormat.CSV), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("id,title\r\n1,Test Book\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/books/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.csv\""))
+                .andExpect(content().string("id,title\r\n1,Test Book\r\n"));
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("GET /api/books/export should reject unknown formats")
+    void shouldReturn400_whenExportFormatUnknown() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/books/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "bookstore.compression.enabled=false")
+    @DisplayName("With compression disabled")
+    class CompressionDisabled {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private BookService bookService;
+
+        @Autowired
+        private CatalogVersions catalogVersions;
+
+        @Test
+        @DisplayName("GET /api/books should send identity JSON even when the client accepts gzip and zstd")
+        void shouldNotCompress_whenCompressionDisabled() throws Exception {
+            // Arrange
+            List<Book> manyBooks = new ArrayList<>();
+            for (long id = 1; id <= 40; id++) {
+                Book book = new Book("Book " + id, "Author " + id, "isbn-" + id, 9.99, "Description " + id, 1);
+                book.setId(id);
+                manyBooks.add(book);
+            }
+            when(bookService.getAllBooks()).thenReturn(manyBooks);
+
+            // Act & Assert
+            mockMvc.perform(get("/api/books").header(HttpHeaders.ACCEPT_ENCODING, "zstd, gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(header().string(HttpHeaders.ETAG, catalogVersions.catalog().etag()))
+                    .andExpect(jsonPath("$", hasSize(40)));
+        }
+    }
 }
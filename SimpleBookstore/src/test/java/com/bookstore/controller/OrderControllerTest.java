@@ -1,6 +1,8 @@
 package com.bookstore.controller;
 
 import com.bookstore.model.Order;
+import com.bookstore.service.ExportFormat;
+import com.bookstore.service.ExportService;
 import com.bookstore.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +14,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +40,9 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private ExportService exportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -232,4 +240,26 @@ class OrderControllerTest {
 
         verify(orderService).createOrder(any(String.class), eq(null), eq(null), eq(null));
     }
+
+    @Test
+    @DisplayName("GET /api/orders/export should stream NDJSON as an attachment")
+    void shouldStreamNdjsonAttachment_whenExportingOrdersAsNdjson() throws Exception {
+        // Arrange
+        when(exportService.exportOrders(eq(ExportFormat.NDJSON), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/orders/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+        verifyNoInteractions(orderService);
+    }
 }
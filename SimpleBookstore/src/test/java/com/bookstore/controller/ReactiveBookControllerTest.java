@@ -0,0 +1,109 @@
+package com.bookstore.controller;
+
+import com.bookstore.model.Book;
+import com.bookstore.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveBookController.class)
+@DisplayName("ReactiveBookController Tests")
+class ReactiveBookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookService bookService;
+
+    private Book testBook;
+    private Book testBook2;
+
+    @BeforeEach
+    void setUp() {
+        testBook = new Book("Test Book", "Test Author", "123-456-789", 19.99, "Test Description", 10);
+        testBook.setId(1L);
+
+        testBook2 = new Book("Another Book", "Another Author", "987-654-321", 29.99, "Another Description", 5);
+        testBook2.setId(2L);
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/books should stream NDJSON lines")
+    void shouldStreamNdjson_whenNdjsonAccepted() throws Exception {
+        // Arrange
+        when(bookService.streamAllBooks()).thenReturn(Flux.just(testBook, testBook2));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/reactive/books").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"title\":\"Another Book\"")));
+        verify(bookService).streamAllBooks();
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/books should refuse a JSON array")
+    void shouldReturn406_whenOnlyJsonAccepted() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/reactive/books").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotAcceptable());
+        verify(bookService, never()).streamAllBooks();
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/books/{id} should return 404 for non-existent book")
+    void shouldReturn404_whenBookNotFound() throws Exception {
+        // Arrange
+        when(bookService.getBookById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/reactive/books/999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/books/search should stream search results")
+    void shouldStreamSearchResults_whenQueryProvided() throws Exception {
+        // Arrange
+        when(bookService.streamSearchBooks("Test")).thenReturn(Flux.just(testBook));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/reactive/books/search").param("query", "Test")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"title\":\"Test Book\"")));
+        verify(bookService).streamSearchBooks("Test");
+    }
+}
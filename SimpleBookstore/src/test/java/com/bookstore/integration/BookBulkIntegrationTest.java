@@ -0,0 +1,260 @@
+package com.bookstore.integration;
+
+import com.bookstore.model.Book;
+import com.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulkdb",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "bookstore.import.chunk-size=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Book Bulk Import and Update Integration Tests")
+class BookBulkIntegrationTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Book existingBook;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        existingBook = bookRepository.save(new Book("Old Title", "Old Author", "111-1", 10.0, "Old", 1));
+    }
+
+    @Test
+    @DisplayName("Should insert new books and update existing ones by ISBN from NDJSON")
+    void shouldUpsertByIsbn_whenImportingNdjson() throws Exception {
+        // Arrange
+        String body = """
+                {"title":"New Title","author":"New Author","isbn":"111-1","price":12.5,"stockQuantity":4}
+
+                {"title":"Second","author":"Author","isbn":"222-2","price":5.0,"description":"d","stockQuantity":2}
+                {"title":"Third","author":"Author","isbn":"333-3","price":7.0}
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/api/books/import").contentType(NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.upserted", is(3)))
+                .andExpect(jsonPath("$.rejected", is(0)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        assertThat(bookRepository.count()).isEqualTo(3);
+        Book updated = bookRepository.findById(existingBook.getId()).orElseThrow();
+        assertThat(updated.getTitle()).isEqualTo("New Title");
+        assertThat(updated.getPrice()).isEqualTo(12.5);
+        assertThat(updated.getStockQuantity()).isEqualTo(4);
+        assertThat(findByIsbn("333-3")).get()
+                .extracting(Book::getStockQuantity).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should report rejected rows without aborting the rest of the import")
+    void shouldReportRowErrors_whenSomeRowsAreInvalid() throws Exception {
+        // Arrange
+        String body = """
+                {"title":"Good","author":"Author","isbn":"222-2","price":5.0}
+                {"title":"Broken",
+                {"title":"No Isbn","author":"Author","price":5.0}
+                {"title":"","author":"Author","isbn":"333-3","price":5.0}
+                {"title":"%s","author":"Author","isbn":"444-4","price":5.0}
+                {"title":"Also Good","author":"Author","isbn":"555-5","price":5.0}
+                """.formatted("x".repeat(300));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/books/import").contentType(NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(6)))
+                .andExpect(jsonPath("$.upserted", is(2)))
+                .andExpect(jsonPath("$.rejected", is(4)))
+                .andExpect(jsonPath("$.errorsTruncated", is(false)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[1].row", is(3)))
+                .andExpect(jsonPath("$.errors[1].messages[0]", is("ISBN is required for import")))
+                .andExpect(jsonPath("$.errors[2].isbn", is("333-3")))
+                .andExpect(jsonPath("$.errors[2].messages[0]", is("Title is required")))
+                .andExpect(jsonPath("$.errors[3].isbn", is("444-4")));
+
+        assertThat(findByIsbn("222-2")).isPresent();
+        assertThat(findByIsbn("555-5")).isPresent();
+        assertThat(findByIsbn("444-4")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should import CSV in the layout written by the export")
+    void shouldImportCsv_whenUsingExportLayout() throws Exception {
+        // Arrange
+        String body = "id,title,author,isbn,price,stock_quantity,description\r\n"
+                + "99,\"Hello, World\",Author,222-2,9.5,3,\"multi\r\nline\"\r\n"
+                + ",Bad Price,Author,333-3,abc,1,\r\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/books/import").contentType("text/csv").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.upserted", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].messages[0]", is("Price is not a number: abc")));
+
+        Book imported = findByIsbn("222-2").orElseThrow();
+        assertThat(imported.getId()).isNotEqualTo(99L);
+        assertThat(imported.getTitle()).isEqualTo("Hello, World");
+        assertThat(imported.getDescription()).isEqualTo("multi\r\nline");
+    }
+
+    @Test
+    @DisplayName("Should keep stock and description when re-importing a file without them")
+    void shouldKeepOmittedFields_whenReimportingPartialRows() throws Exception {
+        // Arrange
+        String prices = "isbn,price\r\n111-1,14.5\r\n222-2,3.0\r\n";
+        String titles = """
+                {"isbn":"111-1","title":"Retitled"}
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/api/books/import").contentType("text/csv").content(prices))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted", is(1)))
+                .andExpect(jsonPath("$.errors[0].isbn", is("222-2")))
+                .andExpect(jsonPath("$.errors[0].messages[0]", is("Author is required")))
+                .andExpect(jsonPath("$.errors[0].messages[1]", is("Title is required")));
+        mockMvc.perform(post("/api/books/import").contentType(NDJSON).content(titles))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted", is(1)));
+
+        Book reimported = bookRepository.findById(existingBook.getId()).orElseThrow();
+        assertThat(reimported.getTitle()).isEqualTo("Retitled");
+        assertThat(reimported.getAuthor()).isEqualTo("Old Author");
+        assertThat(reimported.getPrice()).isEqualTo(14.5);
+        assertThat(reimported.getDescription()).isEqualTo("Old");
+        assertThat(reimported.getStockQuantity()).isEqualTo(1);
+        assertThat(findByIsbn("222-2")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve imported changes instead of cached catalog responses")
+    void shouldInvalidateCatalogCaches_whenImportCompletes() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/books/" + existingBook.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        mockMvc.perform(post("/api/books/import").contentType(NDJSON)
+                        .content("{\"title\":\"Renamed\",\"author\":\"Old Author\",\"isbn\":\"111-1\",\"price\":10.0}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/api/books/" + existingBook.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.title", is("Renamed")));
+        mockMvc.perform(get("/api/books"))
+                .andExpect(jsonPath("$[0].title", is("Renamed")));
+    }
+
+    @Test
+    @DisplayName("Should apply price and stock changes addressed by id or ISBN")
+    void shouldApplyUpdates_whenBulkPatching() throws Exception {
+        // Arrange
+        Book other = bookRepository.save(new Book("Other", "Author", "222-2", 20.0, null, 5));
+        String body = """
+                [{"id":%d,"price":11.0},
+                 {"isbn":"222-2","stockDelta":-2},
+                 {"id":%d,"stockDelta":3}]
+                """.formatted(existingBook.getId(), existingBook.getId());
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/books/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(3)))
+                .andExpect(jsonPath("$.updated", is(3)))
+                .andExpect(jsonPath("$.rejected", hasSize(0)));
+
+        Book updated = bookRepository.findById(existingBook.getId()).orElseThrow();
+        assertThat(updated.getPrice()).isEqualTo(11.0);
+        assertThat(updated.getStockQuantity()).isEqualTo(4);
+        assertThat(bookRepository.findById(other.getId()).orElseThrow().getStockQuantity()).isEqualTo(3);
+        assertThat(bookRepository.findById(other.getId()).orElseThrow().getPrice()).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should reject entries that are invalid, unknown or would make stock negative")
+    void shouldRejectEntries_whenTheyCannotBeApplied() throws Exception {
+        // Arrange
+        String body = """
+                [{"price":5.0},
+                 {"id":%d},
+                 {"id":%d,"stockDelta":-2},
+                 {"isbn":"missing","price":1.0},
+                 {"id":%d,"price":-1.0},
+                 {"isbn":"111-1","stockDelta":-1}]
+                """.formatted(existingBook.getId(), existingBook.getId(), existingBook.getId());
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/books/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(6)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.rejected", hasSize(5)))
+                .andExpect(jsonPath("$.rejected[0].message", is("Either id or isbn is required")))
+                .andExpect(jsonPath("$.rejected[1].message", is("Nothing to update: price or stockDelta is required")))
+                .andExpect(jsonPath("$.rejected[2].index", is(2)))
+                .andExpect(jsonPath("$.rejected[2].message", is("Insufficient stock for a delta of -2")))
+                .andExpect(jsonPath("$.rejected[3].message", is("Book not found")))
+                .andExpect(jsonPath("$.rejected[4].message", is("Price must be zero or positive")));
+
+        assertThat(bookRepository.findById(existingBook.getId()).orElseThrow().getStockQuantity()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should serve bulk updated prices instead of cached catalog responses")
+    void shouldInvalidateCatalogCaches_whenBulkPatching() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/books/" + existingBook.getId()))
+                .andExpect(jsonPath("$.price", is(10.0)));
+
+        // Act
+        mockMvc.perform(patch("/api/books/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + existingBook.getId() + ",\"price\":15.0}]"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/api/books/" + existingBook.getId()))
+                .andExpect(jsonPath("$.price", is(15.0)));
+    }
+
+    private Optional<Book> findByIsbn(String isbn) {
+        return bookRepository.findAll().stream().filter(book -> isbn.equals(book.getIsbn())).findFirst();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookstore.integration;
+
+import com.bookstore.model.Book;
+import com.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:metricsdb",
+    "bookstore.seed.dataset=none"
+})
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    @DisplayName("Should expose endpoint, service and checkout metrics for Prometheus")
+    void shouldExposeEndpointServiceAndCheckoutMetrics_whenScraped() throws Exception {
+        // Arrange
+        Book book = bookRepository.save(new Book("Metrics Book", "Author", "111-222-333", 10.0, "Description", 5));
+        MockHttpSession session = new MockHttpSession();
+        String order = """
+            {"customerName": "Metrics Customer", "customerEmail": "metrics@example.com", "customerAddress": "1 Metrics St"}
+            """;
+
+        // Act
+        mockMvc.perform(post("/api/orders").session(session).contentType(MediaType.APPLICATION_JSON).content(order))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/cart").session(session).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\": %d, \"quantity\": 1}".formatted(book.getId())))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/orders").session(session).contentType(MediaType.APPLICATION_JSON).content(order))
+                .andExpect(status().isOk());
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertThat(scrape)
+                .contains("bookstore_orders_created_total 1.0")
+                .contains("bookstore_checkout_failures_total{reason=\"empty_cart\",} 1.0")
+                .contains("bookstore_checkout_failures_total{reason=\"insufficient_stock\",} 0.0")
+                .containsPattern("bookstore_service_seconds_bucket\\{class=\"com.bookstore.service.OrderService\",error=\"none\",method=\"createOrder\",le=\"0.05\",}")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/orders\",le=\"0.1\",}");
+    }
+}
@@ -0,0 +1,303 @@
+package com.bookstore.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the {@link SimpleBookstoreIntegrationTest} scenarios over HTTP against a packaged
+ * application, by default the native image built by {@code mvn -Pnative verify}. Point
+ * {@code bookstore.smoke.executable} at the executable jar to run the same checks on the JVM.
+ * <p>
+ * All scenarios share one running application, so each creates its own books and uses its
+ * own session instead of relying on an empty catalog.
+ */
+@DisplayName("Native Image Smoke Tests")
+class NativeSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Process application;
+    private static String baseUrl;
+
+    private HttpClient client;
+    private JsonNode testBook;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        String executable = System.getProperty("bookstore.smoke.executable");
+        assumeTrue(executable != null && Files.exists(Path.of(executable)),
+                "bookstore.smoke.executable not set or missing, build with mvn -Pnative verify");
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        if (executable.endsWith(".jar")) {
+            command.addAll(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar"));
+        }
+        command.addAll(List.of(executable, "--server.port=" + port, "--bookstore.seed.dataset=none",
+                "--spring.jpa.show-sql=false"));
+        application = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "native-smoke.log").toFile())
+                .start();
+        baseUrl = "http://localhost:" + port;
+
+        HttpClient probe = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (true) {
+            assertThat(application.isAlive()).as("application exited during startup, see target/native-smoke.log").isTrue();
+            try {
+                HttpResponse<Void> health = probe.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (health.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            assertThat(System.nanoTime()).as("application ready within %s", STARTUP_TIMEOUT).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // A cookie manager per test gives each scenario its own cart session
+        client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+        testBook = createBook("Integration Test Book", "Test Author", 25.99, 10);
+    }
+
+    @Test
+    @DisplayName("Complete book browsing workflow")
+    void shouldCompleteBookBrowsingWorkflow() throws Exception {
+        // 1. Get all books
+        assertThat(titles(get("/api/books"))).contains("Integration Test Book");
+
+        // 2. Search for books
+        assertThat(titles(get("/api/books/search?query=Integration"))).contains("Integration Test Book");
+
+        // 3. Get book details
+        assertThat(get("/api/books/" + id(testBook)).get("title").asText()).isEqualTo("Integration Test Book");
+
+        // 4. Get available books
+        assertThat(titles(get("/api/books/available"))).contains("Integration Test Book");
+    }
+
+    @Test
+    @DisplayName("Complete shopping cart workflow")
+    void shouldCompleteShoppingCartWorkflow() throws Exception {
+        // 1. Add item to cart
+        JsonNode cartItem = send("POST", "/api/cart", "{\"bookId\": %d, \"quantity\": 2}".formatted(id(testBook)), 200);
+        assertThat(cartItem.get("bookId").asLong()).isEqualTo(id(testBook));
+        assertThat(cartItem.get("quantity").asInt()).isEqualTo(2);
+
+        // 2. Get cart items
+        assertThat(get("/api/cart")).hasSize(1);
+
+        // 3. Get cart total
+        assertThat(get("/api/cart/total").asDouble()).isEqualTo(51.98);
+
+        // 4. Update cart item quantity
+        JsonNode updated = send("PUT", "/api/cart/" + id(cartItem), "{\"quantity\": 3}", 200);
+        assertThat(updated.get("quantity").asInt()).isEqualTo(3);
+
+        // 5. Verify updated total
+        assertThat(get("/api/cart/total").asDouble()).isEqualTo(77.97);
+    }
+
+    @Test
+    @DisplayName("Complete order placement workflow")
+    void shouldCompleteOrderPlacementWorkflow() throws Exception {
+        // 1. Add item to cart first
+        send("POST", "/api/cart", "{\"bookId\": %d, \"quantity\": 2}".formatted(id(testBook)), 200);
+
+        // 2. Place order
+        String email = "test-" + UUID.randomUUID() + "@integration.com";
+        JsonNode order = send("POST", "/api/orders", orderRequest("Integration Test Customer", email), 200);
+        assertThat(order.get("customerName").asText()).isEqualTo("Integration Test Customer");
+        assertThat(order.get("status").asText()).isEqualTo("CONFIRMED");
+        assertThat(order.get("totalAmount").asDouble()).isEqualTo(51.98);
+
+        // 3. Verify cart is cleared
+        assertThat(get("/api/cart")).isEmpty();
+
+        // 4. Verify book stock is updated
+        assertThat(get("/api/books/" + id(testBook)).get("stockQuantity").asInt()).isEqualTo(8);
+
+        // 5. Verify order was saved
+        assertThat(get("/api/orders/customer/" + email)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should handle empty cart order placement")
+    void shouldHandleEmptyCartOrderPlacement() throws Exception {
+        // Attempt to place order with empty cart
+        String email = "test-" + UUID.randomUUID() + "@example.com";
+        send("POST", "/api/orders", orderRequest("Test Customer", email), 400);
+
+        // Verify no order was created
+        assertThat(get("/api/orders/customer/" + email)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should handle insufficient stock scenario")
+    void shouldHandleInsufficientStockScenario() throws Exception {
+        // Try to add more items than available stock
+        send("POST", "/api/cart", "{\"bookId\": %d, \"quantity\": 15}".formatted(id(testBook)), 200);
+
+        // Attempt to place order
+        String email = "test-" + UUID.randomUUID() + "@example.com";
+        send("POST", "/api/orders", orderRequest("Test Customer", email), 400);
+
+        // Verify no order was created and stock unchanged
+        assertThat(get("/api/orders/customer/" + email)).isEmpty();
+        assertThat(get("/api/books/" + id(testBook)).get("stockQuantity").asInt()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Admin book management workflow")
+    void shouldCompleteAdminBookManagementWorkflow() throws Exception {
+        // 1. Create new book
+        JsonNode newBook = createBook("Admin Test Book", "Admin Author", 35.99, 5);
+        assertThat(newBook.get("title").asText()).isEqualTo("Admin Test Book");
+
+        // 2. Verify the catalog lists it
+        assertThat(titles(get("/api/books"))).contains("Admin Test Book");
+
+        // 3. Update existing book
+        String update = """
+            {"title": "Integration Test Book", "author": "Test Author", "isbn": "%s", "price": 29.99, "stockQuantity": 15}
+            """.formatted(testBook.get("isbn").asText());
+        JsonNode updated = send("PUT", "/api/books/" + id(testBook), update, 200);
+        assertThat(updated.get("price").asDouble()).isEqualTo(29.99);
+        assertThat(updated.get("stockQuantity").asInt()).isEqualTo(15);
+
+        // 4. Delete book
+        send("DELETE", "/api/books/" + id(testBook), null, 200);
+
+        // 5. Verify book was deleted
+        send("GET", "/api/books/" + id(testBook), null, 404);
+    }
+
+    @Test
+    @DisplayName("Should handle cart item removal")
+    void shouldHandleCartItemRemoval() throws Exception {
+        // 1. Add item to cart
+        JsonNode cartItem = send("POST", "/api/cart", "{\"bookId\": %d, \"quantity\": 1}".formatted(id(testBook)), 200);
+
+        // 2. Remove cart item
+        send("DELETE", "/api/cart/" + id(cartItem), null, 200);
+
+        // 3. Verify cart is empty
+        assertThat(get("/api/cart")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should handle cart clearing")
+    void shouldHandleCartClearing() throws Exception {
+        // 1. Add item to cart
+        send("POST", "/api/cart", "{\"bookId\": %d, \"quantity\": 2}".formatted(id(testBook)), 200);
+
+        // 2. Verify cart has items
+        assertThat(get("/api/cart")).hasSize(1);
+
+        // 3. Clear cart
+        send("DELETE", "/api/cart", null, 200);
+
+        // 4. Verify cart is empty
+        assertThat(get("/api/cart")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should handle book search functionality")
+    void shouldHandleBookSearchFunctionality() throws Exception {
+        // 1. Create additional test books with a unique marker
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        createBook("Java Programming " + marker, "John Doe", 45.99, 5);
+        createBook("Python Basics", "Jane Smith " + marker, 35.99, 8);
+
+        // 2. Search by title
+        JsonNode byTitle = get("/api/books/search?query=Java%20Programming%20" + marker);
+        assertThat(titles(byTitle)).containsExactly("Java Programming " + marker);
+
+        // 3. Search by author
+        JsonNode byAuthor = get("/api/books/search?query=Jane%20Smith%20" + marker);
+        assertThat(byAuthor).hasSize(1);
+        assertThat(byAuthor.get(0).get("author").asText()).isEqualTo("Jane Smith " + marker);
+
+        // 4. Search with no results
+        assertThat(get("/api/books/search?query=NonExistent-" + marker)).isEmpty();
+    }
+
+    private JsonNode createBook(String title, String author, double price, int stock) throws Exception {
+        String book = """
+            {"title": "%s", "author": "%s", "isbn": "%s", "price": %s, "description": "Smoke test book", "stockQuantity": %d}
+            """.formatted(title, author, UUID.randomUUID(), price, stock);
+        return send("POST", "/api/books", book, 200);
+    }
+
+    private static String orderRequest(String name, String email) {
+        return """
+            {"customerName": "%s", "customerEmail": "%s", "customerAddress": "123 Integration St"}
+            """.formatted(name, email);
+    }
+
+    private JsonNode get(String path) throws Exception {
+        return send("GET", path, null, 200);
+    }
+
+    private JsonNode send(String method, String path, String json, int expectedStatus) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (json == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("%s %s: %s", method, path, response.body()).isEqualTo(expectedStatus);
+        return response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    private static long id(JsonNode node) {
+        return node.get("id").asLong();
+    }
+
+    private static List<String> titles(JsonNode books) {
+        List<String> titles = new ArrayList<>();
+        books.forEach(book -> titles.add(book.get("title").asText()));
+        return titles;
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookstore.integration;
+
+import com.bookstore.model.Book;
+import com.bookstore.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:sqlaccountingdb",
+    "bookstore.seed.dataset=none",
+    "bookstore.sql.accounting.alert=true",
+    "bookstore.sql.accounting.statement-budget=3"
+})
+@DisplayName("SQL Accounting Integration Tests")
+class SqlAccountingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should report the N+1 in the cart total and flag it over budget")
+    void shouldReportStatementsAndAlert_whenCartTotalExceedsBudget(CapturedOutput output) throws Exception {
+        // Arrange
+        MockHttpSession session = new MockHttpSession();
+        for (int i = 0; i < 3; i++) {
+            Book book = bookRepository.save(new Book("Accounting Book " + i, "Author", "ACC-" + i, 10.0, "Description", 5));
+            mockMvc.perform(post("/api/cart").session(session).contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"bookId\": %d, \"quantity\": 1}".formatted(book.getId())))
+                    .andExpect(status().isOk());
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cart/total").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern(
+                        "db;dur=[0-9.]+;desc=\"4 statements, 6 rows, 6 entities\"")));
+
+        assertThat(output).contains("GET /api/cart/total ran 4 SQL statements, budget 3").contains("Most repeated, 3x: select");
+        assertThat(meterRegistry.get("bookstore.request.sql.statements").tag("uri", "/api/cart/total").summary().totalAmount())
+                .isEqualTo(4);
+        assertThat(meterRegistry.get("bookstore.request.sql.budget.exceeded").tag("uri", "/api/cart/total").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send Server-Timing on responses without a body")
+    void shouldSendServerTiming_whenResponseHasNoBody() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/cart").session(new MockHttpSession()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\": 1, \"quantity\": 1}"))
+                .andExpect(header().exists("Server-Timing"));
+        mockMvc.perform(delete("/api/cart")
+                        .session(new MockHttpSession()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("1 statements")));
+    }
+}
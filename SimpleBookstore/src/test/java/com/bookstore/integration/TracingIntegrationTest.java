@@ -0,0 +1,144 @@
+package com.bookstore.integration;
+
+import com.bookstore.model.Book;
+import com.bookstore.monitoring.OtlpJsonFileSpanExporter;
+import com.bookstore.monitoring.RecentSpans;
+import com.bookstore.repository.BookRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:tracingdb",
+    "bookstore.seed.dataset=none",
+    "management.tracing.sampling.probability=1.0",
+    "bookstore.tracing.file.enabled=true",
+    "bookstore.tracing.file.path=target/tracing-test/spans.jsonl",
+    "management.endpoints.web.exposure.include=health,traces"
+})
+@DisplayName("Tracing Integration Tests")
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private RecentSpans recentSpans;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private OtlpJsonFileSpanExporter fileExporter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        recentSpans.clear();
+    }
+
+    @Test
+    @DisplayName("Should trace a request through the controller, the service and its SQL")
+    void shouldNestServiceAndJdbcSpans_whenRequestIsSampled() throws Exception {
+        // Arrange
+        Book book = bookRepository.save(new Book("Traced Book", "Author", "TRC-1", 10.0, "Description", 5));
+
+        // Act
+        mockMvc.perform(post("/api/cart").session(new MockHttpSession()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookId\": %d, \"quantity\": 1}".formatted(book.getId())))
+                .andExpect(status().isOk());
+        List<SpanData> spans = exportedSpans();
+
+        // Assert
+        SpanData request = span(spans, "http post /api/cart");
+        SpanData service = span(spans, "cart-service#add-to-cart");
+        List<SpanData> statements = spans.stream().filter(span -> span.getName().startsWith("jdbc ")).toList();
+        assertThat(service.getTraceId()).isEqualTo(request.getTraceId());
+        assertThat(service.getParentSpanId()).isEqualTo(request.getSpanId());
+        assertThat(statements).isNotEmpty().allSatisfy(statement -> {
+            assertThat(statement.getTraceId()).isEqualTo(request.getTraceId());
+            assertThat(statement.getParentSpanId()).isIn(request.getSpanId(), service.getSpanId());
+            assertThat(statement.getAttributes().get(AttributeKey.stringKey("db.statement"))).isNotBlank();
+        });
+        assertThat(statements).extracting(SpanData::getName).contains("jdbc insert");
+    }
+
+    @Test
+    @DisplayName("Should write sampled spans to the OTLP/JSON file and serve them from the actuator")
+    void shouldExportSpansToFileAndEndpoint_whenRequestIsSampled() throws Exception {
+        // Arrange
+        bookRepository.save(new Book("Exported Book", "Author", "TRC-2", 10.0, "Description", 5));
+
+        // Act
+        mockMvc.perform(get("/api/books/search").param("query", "Exported")).andExpect(status().isOk());
+        String traceId = span(exportedSpans(), "book-service#search-books").getTraceId();
+        JsonNode traces = objectMapper.readTree(mockMvc.perform(get("/actuator/traces"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        JsonNode trace = objectMapper.readTree(mockMvc.perform(get("/actuator/traces/" + traceId))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        List<String> lines = Files.readAllLines(fileExporter.getFile());
+
+        // Assert
+        assertThat(traces.findValuesAsText("traceId")).contains(traceId);
+        assertThat(trace.findValuesAsText("name")).contains("http get /api/books/search", "book-service#search-books");
+        assertThat(lines).anySatisfy(line -> {
+            JsonNode request = objectMapper.readTree(line);
+            assertThat(request.has("resourceSpans")).isTrue();
+            assertThat(request.findValuesAsText("traceId")).contains(traceId);
+        });
+    }
+
+    @Test
+    @DisplayName("Should record the URI template, not the request path, as the request span URL")
+    void shouldRecordUriTemplate_whenPathHoldsCustomerEmail() throws Exception {
+        // Act
+        mockMvc.perform(get("/api/orders/customer/alice.secret@example.com")).andExpect(status().isOk());
+        List<SpanData> spans = exportedSpans();
+
+        // Assert
+        SpanData request = span(spans, "http get /api/orders/customer/{email}");
+        assertThat(request.getAttributes().get(AttributeKey.stringKey("http.url")))
+                .isEqualTo("/api/orders/customer/{email}");
+        assertThat(spans).allSatisfy(span -> assertThat(span.getAttributes().asMap().values())
+                .noneMatch(value -> value.toString().contains("alice.secret")));
+    }
+
+    private List<SpanData> exportedSpans() {
+        assertThat(tracerProvider.forceFlush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+        return recentSpans.snapshot();
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("no span " + name + " in " + spans.stream().map(SpanData::getName).toList()));
+    }
+}
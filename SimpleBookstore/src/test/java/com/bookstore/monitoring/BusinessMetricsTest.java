@@ -0,0 +1,51 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BusinessMetrics Tests")
+class BusinessMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private BusinessMetrics businessMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        businessMetrics = new BusinessMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("Should register all counters at zero")
+    void shouldRegisterAllCountersAtZero_whenCreated() {
+        // Assert
+        assertThat(registry.get("bookstore.orders.created").counter().count()).isZero();
+        assertThat(registry.get("bookstore.checkout.failures").counters()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should count orders and failures by reason")
+    void shouldCountOrdersAndFailuresByReason_whenEventsRecorded() {
+        // Act
+        businessMetrics.orderCreated();
+        businessMetrics.orderCreated();
+        businessMetrics.emptyCart();
+        businessMetrics.insufficientStock();
+        businessMetrics.insufficientStock();
+        businessMetrics.insufficientStock();
+
+        // Assert
+        assertThat(registry.get("bookstore.orders.created").counter().count()).isEqualTo(2);
+        assertThat(failures("empty_cart")).isEqualTo(1);
+        assertThat(failures("insufficient_stock")).isEqualTo(3);
+        assertThat(failures("book_not_found")).isZero();
+    }
+
+    private double failures(String reason) {
+        return registry.get("bookstore.checkout.failures").tag("reason", reason).counter().count();
+    }
+}
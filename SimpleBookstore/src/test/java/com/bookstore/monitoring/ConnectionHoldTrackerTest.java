@@ -0,0 +1,76 @@
+package com.bookstore.monitoring;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ConnectionHoldTracker Tests")
+class ConnectionHoldTrackerTest {
+
+    private ConnectionHoldTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ConnectionHoldTracker();
+    }
+
+    @Test
+    @DisplayName("Should report checked-out connection with acquiring stack")
+    void shouldReportOpenConnection_whenConnectionAcquired() {
+        // Act
+        tracker.afterGetConnection(context("1", null));
+
+        // Assert
+        assertThat(tracker.getOpenConnections()).hasSize(1);
+        assertThat(tracker.getOpenConnections().get(0).thread()).isEqualTo(Thread.currentThread().getName());
+        assertThat(tracker.getOpenConnections().get(0).acquiredFrom())
+                .isNotEmpty()
+                .noneMatch(frame -> frame.startsWith(ConnectionHoldTracker.class.getName()));
+    }
+
+    @Test
+    @DisplayName("Should keep longest hold after connection is closed")
+    void shouldKeepLongestHold_whenConnectionClosed() throws InterruptedException {
+        // Arrange
+        tracker.afterGetConnection(context("1", null));
+        Thread.sleep(20);
+        tracker.afterClose(context("1", mock(Connection.class)));
+        tracker.afterGetConnection(context("2", null));
+        tracker.afterClose(context("2", mock(Connection.class)));
+
+        // Assert
+        assertThat(tracker.getOpenConnections()).isEmpty();
+        assertThat(tracker.getLongestHold()).isPresent();
+        assertThat(tracker.getLongestHold().get().heldMillis()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should ignore statement close events")
+    void shouldIgnoreStatementClose_whenStatementClosed() {
+        // Arrange
+        tracker.afterGetConnection(context("1", null));
+
+        // Act
+        tracker.afterClose(context("1", mock(Statement.class)));
+
+        // Assert
+        assertThat(tracker.getOpenConnections()).hasSize(1);
+    }
+
+    private MethodExecutionContext context(String connectionId, Object target) {
+        ConnectionInfo connectionInfo = new ConnectionInfo();
+        connectionInfo.setConnectionId(connectionId);
+        MethodExecutionContext context = new MethodExecutionContext();
+        context.setConnectionInfo(connectionInfo);
+        context.setTarget(target);
+        return context;
+    }
+}
@@ -0,0 +1,154 @@
+package com.bookstore.monitoring;
+
+import com.bookstore.model.Book;
+import com.bookstore.model.CartItem;
+import com.bookstore.model.Order;
+import com.bookstore.repository.OrderRepository;
+import com.bookstore.service.BookService;
+import com.bookstore.service.CartService;
+import com.bookstore.service.OrderService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightRecording Tests")
+class FlightRecordingTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private FlightRecording flightRecording;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        flightRecording = new FlightRecording(Duration.ofMinutes(5), DataSize.ofMegabytes(20), Duration.ofSeconds(10), dumpDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecording.destroy();
+    }
+
+    @Test
+    @DisplayName("Should record checkouts with cart size, phases and outcome")
+    void shouldRecordCheckout_whenOrderCreated() throws Exception {
+        // Arrange
+        Book book = new Book("JFR Book", "Author", "123", 10.0, "Description", 10);
+        book.setId(1L);
+        Order saved = new Order("Customer", "jfr@example.com", "Address", 30.0);
+        saved.setId(7L);
+        when(cartService.getCartItems("session")).thenReturn(List.of(new CartItem(1L, 3, "session")));
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(book));
+        when(orderRepository.save(any(Order.class))).thenReturn(saved);
+
+        // Act
+        orderService.createOrder("session", "Customer", "jfr@example.com", "Address");
+        List<RecordedEvent> events = RecordingFile.readAllEvents(flightRecording.dump());
+
+        // Assert
+        List<RecordedEvent> checkouts = events.stream()
+                .filter(event -> event.getEventType().getName().equals(CheckoutEvent.NAME))
+                .toList();
+        assertThat(checkouts).hasSize(1);
+        RecordedEvent checkout = checkouts.get(0);
+        assertThat(checkout.getInt("cartItems")).isEqualTo(1);
+        assertThat(checkout.getInt("units")).isEqualTo(3);
+        assertThat(checkout.getLong("orderId")).isEqualTo(7L);
+        assertThat(checkout.getString("outcome")).isEqualTo("COMMITTED");
+        assertThat(checkout.getDuration("stockValidation")).isPositive();
+        assertThat(checkout.getDuration("persist")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should record rejected checkouts with the reason")
+    void shouldRecordRejectedCheckout_whenCartIsEmpty() throws Exception {
+        // Arrange
+        when(cartService.getCartItems("session")).thenReturn(List.of());
+
+        // Act
+        try {
+            orderService.createOrder("session", "Customer", "jfr@example.com", "Address");
+        } catch (RuntimeException expected) {
+            // rejected checkouts are recorded as well
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(flightRecording.dump());
+
+        // Assert
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals(CheckoutEvent.NAME))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("outcome")).isEqualTo("EMPTY_CART");
+                    assertThat(event.getString("detail")).isEqualTo("Cart is empty");
+                });
+    }
+
+    @Test
+    @DisplayName("Should leave out searches faster than the threshold")
+    void shouldSkipSearches_whenFasterThanThreshold() throws Exception {
+        // Arrange
+        BookSearchEvent search = new BookSearchEvent();
+
+        // Act
+        search.begin();
+        search.end();
+        boolean committed = search.shouldCommit();
+        Path dump = flightRecording.dump();
+
+        // Assert
+        assertThat(committed).isFalse();
+        assertThat(dump).startsWith(dumpDirectory).exists();
+        assertThat(dump.getFileName().toString()).matches("bookstore-\\d{8}-\\d{6}-\\d{3}-\\d+\\.jfr");
+        assertThat(RecordingFile.readAllEvents(dump))
+                .noneMatch(event -> event.getEventType().getName().equals(BookSearchEvent.NAME));
+    }
+
+    @Test
+    @DisplayName("Should write each dump to its own file without environment or system properties")
+    void shouldWriteSeparateFiles_whenDumpedTwiceInARow() throws Exception {
+        // Act
+        Path first = flightRecording.dump();
+        Path second = flightRecording.dump();
+
+        // Assert
+        assertThat(second).isNotEqualTo(first);
+        assertThat(first).exists();
+        assertThat(RecordingFile.readAllEvents(second))
+                .noneMatch(event -> event.getEventType().getName().equals("jdk.InitialEnvironmentVariable")
+                        || event.getEventType().getName().equals("jdk.InitialSystemProperty"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.bookstore.monitoring;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("JdbcPinningGuard Tests")
+class JdbcPinningGuardTest {
+
+    @Test
+    @DisplayName("Should hold a permit only during a driver call")
+    void shouldHoldPermit_onlyDuringDriverCall() {
+        // Arrange
+        JdbcPinningGuard guard = new JdbcPinningGuard(2, Duration.ofMillis(50));
+        MethodExecutionContext execute = context(mock(Statement.class));
+
+        // Act
+        guard.beforeMethod(execute);
+        int duringCall = guard.availablePermits();
+        guard.afterMethod(execute);
+
+        // Assert
+        assertThat(duringCall).isEqualTo(1);
+        assertThat(guard.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not take a permit while getting a connection from the pool")
+    void shouldNotTakePermit_whenGettingConnection() {
+        // Arrange
+        JdbcPinningGuard guard = new JdbcPinningGuard(1, Duration.ofMillis(50));
+        MethodExecutionContext getConnection = context(mock(DataSource.class));
+
+        // Act
+        guard.beforeMethod(getConnection);
+        guard.afterMethod(getConnection);
+
+        // Assert
+        assertThat(guard.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail with transient connection exception when no permit frees up in time")
+    void shouldThrowTransientException_whenPermitTimesOut() {
+        // Arrange
+        JdbcPinningGuard guard = new JdbcPinningGuard(1, Duration.ofMillis(50));
+        guard.beforeMethod(context(mock(Connection.class)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> guard.beforeMethod(context(mock(Statement.class))))
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("50ms");
+        assertThat(guard.availablePermits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should close and roll back without a permit when all permits are taken")
+    void shouldCloseAndRollback_whenPermitsExhausted() throws Exception {
+        // Arrange
+        JdbcPinningGuard guard = new JdbcPinningGuard(1, Duration.ofMillis(50));
+        guard.beforeMethod(context(mock(Statement.class)));
+        MethodExecutionContext rollback = context(mock(Connection.class), Connection.class.getMethod("rollback"));
+        MethodExecutionContext closeResultSet = context(mock(ResultSet.class), ResultSet.class.getMethod("close"));
+        MethodExecutionContext close = context(mock(Connection.class), Connection.class.getMethod("close"));
+
+        // Act
+        for (MethodExecutionContext call : new MethodExecutionContext[]{rollback, closeResultSet, close}) {
+            guard.beforeMethod(call);
+            guard.afterMethod(call);
+        }
+
+        // Assert
+        assertThat(guard.availablePermits()).isZero();
+    }
+
+    private MethodExecutionContext context(Object target) {
+        return context(target, null);
+    }
+
+    private MethodExecutionContext context(Object target, Method method) {
+        MethodExecutionContext context = new MethodExecutionContext();
+        context.setTarget(target);
+        context.setMethod(method);
+        return context;
+    }
+}
@@ -0,0 +1,124 @@
+package com.bookstore.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OTLP/JSON File Span Exporter Tests")
+class OtlpJsonFileSpanExporterTest {
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OtlpJsonFileSpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should append one OTLP export request per batch")
+    void shouldWriteExportRequestLine_whenSpansExported() throws Exception {
+        // Arrange
+        Tracer tracer = tracer(directory.resolve("traces/spans.jsonl"), 1_000_000);
+
+        // Act
+        tracer.spanBuilder("first").startSpan().end();
+        tracer.spanBuilder("second").setAttribute("db.statement", "select 1").startSpan().end();
+
+        // Assert
+        List<String> lines = Files.readAllLines(exporter.getFile());
+        assertThat(lines).hasSize(2);
+        JsonNode request = objectMapper.readTree(lines.get(1));
+        JsonNode span = request.at("/resourceSpans/0/scopeSpans/0/spans/0");
+        assertThat(span.get("name").asText()).isEqualTo("second");
+        assertThat(span.at("/attributes/0/value/stringValue").asText()).isEqualTo("select 1");
+    }
+
+    @Test
+    @DisplayName("Should follow the OTLP/JSON mapping for ids, kinds, numbers, events and status")
+    void shouldEncodeSpanFields_whenSpanHasParentEventsAndError() throws Exception {
+        // Arrange
+        Tracer tracer = tracer(directory.resolve("spans.jsonl"), 1_000_000);
+        Span parent = tracer.spanBuilder("parent").startSpan();
+
+        // Act
+        Span child = tracer.spanBuilder("child")
+                .setParent(Context.current().with(parent))
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.longKey("db.rows"), 42L)
+                .setAttribute(AttributeKey.booleanArrayKey("flags"), List.of(true, false))
+                .startSpan();
+        child.addEvent("retry");
+        child.setStatus(StatusCode.ERROR, "timed out");
+        child.end();
+        parent.end();
+
+        // Assert
+        JsonNode request = objectMapper.readTree(Files.readAllLines(exporter.getFile()).get(0));
+        JsonNode span = request.at("/resourceSpans/0/scopeSpans/0/spans/0");
+        assertThat(request.at("/resourceSpans/0/scopeSpans/0/scope/name").asText()).isEqualTo("test");
+        assertThat(span.get("traceId").asText()).isEqualTo(parent.getSpanContext().getTraceId());
+        assertThat(span.get("spanId").asText()).isEqualTo(child.getSpanContext().getSpanId());
+        assertThat(span.get("parentSpanId").asText()).isEqualTo(parent.getSpanContext().getSpanId());
+        assertThat(span.get("kind").asInt()).isEqualTo(3);
+        assertThat(span.get("startTimeUnixNano").isTextual()).isTrue();
+        assertThat(attribute(span, "db.rows").get("intValue").asText()).isEqualTo("42");
+        assertThat(attribute(span, "flags").at("/arrayValue/values/1/boolValue").asBoolean()).isFalse();
+        assertThat(span.at("/events/0/name").asText()).isEqualTo("retry");
+        assertThat(span.at("/status/code").asInt()).isEqualTo(2);
+        assertThat(span.at("/status/message").asText()).isEqualTo("timed out");
+        assertThat(request.at("/resourceSpans/0/resource/attributes").findValuesAsText("key")).contains("service.name");
+    }
+
+    @Test
+    @DisplayName("Should rotate the file when it reaches the size limit")
+    void shouldRotateFile_whenMaxSizeReached() throws Exception {
+        // Arrange
+        Path file = directory.resolve("spans.jsonl");
+        Tracer tracer = tracer(file, 100);
+
+        // Act
+        tracer.spanBuilder("first").startSpan().end();
+        tracer.spanBuilder("second").startSpan().end();
+
+        // Assert
+        assertThat(Files.readString(file.resolveSibling("spans.jsonl.1"))).contains("\"first\"").doesNotContain("\"second\"");
+        assertThat(Files.readAllLines(file)).singleElement().asString().contains("\"second\"");
+    }
+
+    private static JsonNode attribute(JsonNode span, String key) {
+        for (JsonNode attribute : span.get("attributes")) {
+            if (attribute.get("key").asText().equals(key)) {
+                return attribute.get("value");
+            }
+        }
+        throw new AssertionError("No attribute " + key + " in " + span);
+    }
+
+    private Tracer tracer(Path file, long maxBytes) {
+        exporter = new OtlpJsonFileSpanExporter(file, maxBytes);
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        return tracerProvider.get("test");
+    }
+}
@@ -0,0 +1,65 @@
+package com.bookstore.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestSqlStats Tests")
+class RequestSqlStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlStats.clear();
+    }
+
+    @Test
+    @DisplayName("Should bind stats to the current thread until cleared")
+    void shouldBindStatsToThread_whenStarted() {
+        // Act
+        RequestSqlStats stats = RequestSqlStats.start(false);
+
+        // Assert
+        assertThat(RequestSqlStats.current()).isSameAs(stats);
+        RequestSqlStats.clear();
+        assertThat(RequestSqlStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should format totals as a Server-Timing entry")
+    void shouldFormatServerTiming_whenWorkRecorded() {
+        // Arrange
+        RequestSqlStats stats = RequestSqlStats.start(false);
+
+        // Act
+        stats.executionStarted();
+        stats.executionFinished("select 1");
+        stats.rowRead();
+        stats.rowRead();
+        stats.entityLoaded();
+
+        // Assert
+        assertThat(stats.serverTiming()).matches("db;dur=\\d+\\.\\d{2};desc=\"1 statements, 2 rows, 1 entities\"");
+        assertThat(stats.mostRepeated()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find the most repeated statement when counting by SQL")
+    void shouldFindMostRepeatedStatement_whenCountingBySql() {
+        // Arrange
+        RequestSqlStats stats = RequestSqlStats.start(true);
+
+        // Act
+        for (String sql : new String[]{"select cart", "select book", "select book", "select book"}) {
+            stats.executionStarted();
+            stats.executionFinished(sql);
+        }
+
+        // Assert
+        assertThat(stats.getStatements()).isEqualTo(4);
+        assertThat(stats.mostRepeated()).contains(Map.entry("select book", 3));
+    }
+}
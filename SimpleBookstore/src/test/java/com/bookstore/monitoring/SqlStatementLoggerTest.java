@@ -0,0 +1,75 @@
+package com.bookstore.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlStatementLogger Tests")
+class SqlStatementLoggerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should log statements slower than threshold to slow-query log")
+    void shouldLogSlowStatement_whenElapsedAboveThreshold() {
+        // Arrange
+        SqlStatementLogger logger = new SqlStatementLogger(0.0, Duration.ofMillis(100), meterRegistry);
+
+        // Act
+        logger.afterQuery(execution(150), queries());
+        logger.afterQuery(execution(10), queries());
+
+        // Assert
+        assertThat(count("slow")).isEqualTo(1.0);
+        assertThat(count("sampled")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should log every fast statement when sample rate is one")
+    void shouldSampleAllStatements_whenSampleRateIsOne() {
+        // Arrange
+        SqlStatementLogger logger = new SqlStatementLogger(1.0, Duration.ofMillis(100), meterRegistry);
+
+        // Act
+        logger.afterQuery(execution(1), queries());
+        logger.afterQuery(execution(2), queries());
+
+        // Assert
+        assertThat(count("sampled")).isEqualTo(2.0);
+        assertThat(meterRegistry.get("bookstore.sql.log.overhead").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report no caller outside the service layer")
+    void shouldReportNoCaller_whenNotCalledFromService() {
+        assertThat(SqlStatementLogger.serviceCallers()).isEqualTo("-");
+    }
+
+    private double count(String log) {
+        return meterRegistry.get("bookstore.sql.log.statements").tag("log", log).counter().count();
+    }
+
+    private ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+
+    private List<QueryInfo> queries() {
+        return List.of(new QueryInfo("SELECT * FROM book WHERE id = ?"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.bookstore.repository;
 
 import com.bookstore.model.Book;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -105,6 +106,37 @@ class BookRepositoryTest {
         assertThat(result.get(0).getTitle()).isEqualTo("Java Programming");
     }
 
+    @Test
+    @DisplayName("Should load search results as read-only entities")
+    void shouldLoadSearchResultsReadOnly_whenSearching() {
+        // Arrange
+        entityManager.clear();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        // Act
+        List<Book> result = bookRepository.searchBooks("java");
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(session.isReadOnly(result.get(0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refresh cached availability query when stock changes")
+    void shouldRefreshCachedAvailability_whenStockChanges() {
+        // Arrange
+        assertThat(bookRepository.findByStockQuantityGreaterThan(0)).hasSize(2);
+        testBook3.setStockQuantity(4);
+        entityManager.persistAndFlush(testBook3);
+
+        // Act
+        List<Book> result = bookRepository.findByStockQuantityGreaterThan(0);
+
+        // Assert
+        assertThat(result).extracting(Book::getTitle)
+                .containsExactlyInAnyOrder("Java Programming", "Spring Boot Guide", "Python Basics");
+    }
+
     @Test
     @DisplayName("Should save book and generate ID")
     void shouldSaveBookAndGenerateId_whenSavingNewBook() {
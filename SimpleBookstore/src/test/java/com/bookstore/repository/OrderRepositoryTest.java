@@ -1,6 +1,8 @@
 package com.bookstore.repository;
 
+import com.bookstore.model.Book;
 import com.bookstore.model.Order;
+import com.bookstore.model.OrderItem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -188,4 +191,30 @@ class OrderRepositoryTest {
         assertThat(savedOrder.getOrderDate()).isNotNull();
         assertThat(savedOrder.getOrderDate()).isAfterOrEqualTo(beforeSave);
     }
+
+    @Test
+    @DisplayName("Should stream each order once with all of its items")
+    void shouldStreamOrdersWithItems_whenExporting() {
+        // Arrange
+        Book book1 = entityManager.persistAndFlush(new Book("Book One", "Author", "111-111-111", 10.0, "Description", 5));
+        Book book2 = entityManager.persistAndFlush(new Book("Book Two", "Author", "222-222-222", 20.0, "Description", 5));
+        entityManager.persist(new OrderItem(order1, book1, 1, 10.0));
+        entityManager.persist(new OrderItem(order1, book2, 2, 20.0));
+        entityManager.persist(new OrderItem(order2, book2, 1, 20.0));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Order> result;
+        try (Stream<Order> orders = orderRepository.streamAllWithItemsForExport()) {
+            result = orders.toList();
+        }
+
+        // Assert
+        assertThat(result).extracting(Order::getId).containsExactly(order1.getId(), order2.getId(), order3.getId());
+        assertThat(result.get(0).getOrderItems()).extracting(item -> item.getBook().getTitle())
+                .containsExactly("Book One", "Book Two");
+        assertThat(result.get(1).getOrderItems()).hasSize(1);
+        assertThat(result.get(2).getOrderItems()).isEmpty();
+    }
 }
@@ -9,14 +9,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +36,9 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private CatalogVersions catalogVersions;
+
     @InjectMocks
     private BookService bookService;
 
@@ -41,6 +54,9 @@ class BookServiceTest {
         testBook2.setId(2L);
 
         testBooks = Arrays.asList(testBook, testBook2);
+
+        lenient().when(catalogVersions.book(anyLong())).thenReturn(new CatalogVersions.Stamp("\"1-1\"", Instant.EPOCH));
+        lenient().when(catalogVersions.catalog()).thenReturn(new CatalogVersions.Stamp("\"1\"", Instant.EPOCH));
     }
 
     @Test
@@ -87,6 +103,55 @@ class BookServiceTest {
         verify(bookRepository).findById(999L);
     }
 
+    @Test
+    @DisplayName("Should run one query for concurrent lookups of the same book")
+    void shouldShareOneQuery_whenSameBookLookedUpConcurrently() throws Exception {
+        // Arrange
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(bookRepository.findById(1L)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Optional.of(testBook);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act
+            Future<Optional<Book>> leader = executor.submit(() -> bookService.getBookById(1L));
+            queryStarted.await(5, TimeUnit.SECONDS);
+            List<Future<Optional<Book>>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> bookService.getBookById(1L)));
+            }
+            awaitCoalesced(bookService::getCoalescedLookups, 3);
+            releaseQuery.countDown();
+
+            // Assert
+            assertThat(leader.get(5, TimeUnit.SECONDS)).contains(testBook);
+            for (Future<Optional<Book>> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).containsSame(testBook);
+            }
+            verify(bookRepository, times(1)).findById(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should query again for a lookup after the previous one completed")
+    void shouldQueryAgain_whenPreviousLookupCompleted() {
+        // Arrange
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+        // Act
+        bookService.getBookById(1L);
+        bookService.getBookById(1L);
+
+        // Assert
+        verify(bookRepository, times(2)).findById(1L);
+    }
+
     @Test
     @DisplayName("Should return filtered results when search query provided")
     void shouldReturnFilteredResults_whenSearchQueryProvided() {
@@ -159,6 +224,7 @@ class BookServiceTest {
         // Assert
         assertThat(result).isEqualTo(testBook);
         verify(bookRepository).save(testBook);
+        verify(catalogVersions).bookChanged(1L);
     }
 
     @Test
@@ -169,6 +235,7 @@ class BookServiceTest {
 
         // Assert
         verify(bookRepository).deleteById(1L);
+        verify(catalogVersions).bookChanged(1L);
     }
 
     @Test
@@ -186,6 +253,7 @@ class BookServiceTest {
         assertThat(testBook.getStockQuantity()).isEqualTo(7);
         verify(bookRepository).findById(1L);
         verify(bookRepository).save(testBook);
+        verify(catalogVersions).bookChanged(1L);
     }
 
     @Test
@@ -202,6 +270,7 @@ class BookServiceTest {
         assertThat(testBook.getStockQuantity()).isEqualTo(10); // Stock unchanged
         verify(bookRepository).findById(1L);
         verify(bookRepository, never()).save(any());
+        verify(catalogVersions, never()).bookChanged(anyLong());
     }
 
     @Test
@@ -218,4 +287,106 @@ class BookServiceTest {
         verify(bookRepository).findById(999L);
         verify(bookRepository, never()).save(any());
     }
+
+    @Test
+    @DisplayName("Should stream catalog page by page using the last id as keyset")
+    void shouldStreamAllBooksInPages_whenStreamAllBooksCalled() {
+        // Arrange
+        List<Book> fullPage = new ArrayList<>();
+        for (long id = 1; id <= BookService.STREAM_PAGE_SIZE; id++) {
+            Book book = new Book("Book " + id, "Author", "isbn-" + id, 9.99, "Description", 1);
+            book.setId(id);
+            fullPage.add(book);
+        }
+        Book last = new Book("Last Book", "Author", "isbn-last", 9.99, "Description", 1);
+        last.setId(BookService.STREAM_PAGE_SIZE + 1L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(fullPage);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq((long) BookService.STREAM_PAGE_SIZE), any(Pageable.class)))
+                .thenReturn(List.of(last));
+
+        // Act
+        List<Book> result = bookService.streamAllBooks().collectList().block();
+
+        // Assert
+        assertThat(result).hasSize(BookService.STREAM_PAGE_SIZE + 1);
+        assertThat(result.get(result.size() - 1).getTitle()).isEqualTo("Last Book");
+        verify(bookRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should not query further pages when subscriber cancels")
+    void shouldStopQuerying_whenSubscriberTakesFewBooks() {
+        // Arrange
+        List<Book> fullPage = new ArrayList<>();
+        for (long id = 1; id <= BookService.STREAM_PAGE_SIZE; id++) {
+            Book book = new Book("Book " + id, "Author", "isbn-" + id, 9.99, "Description", 1);
+            book.setId(id);
+            fullPage.add(book);
+        }
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(fullPage);
+
+        // Act
+        List<Book> result = bookService.streamAllBooks().take(3).collectList().block();
+
+        // Assert
+        assertThat(result).hasSize(3);
+        verify(bookRepository, times(1)).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should update the fields of an existing book and save it")
+    void shouldUpdateBook_whenBookExists() {
+        // Arrange
+        Book details = new Book("Updated Book", "Updated Author", "123-456-789", 24.99, "Updated Description", 15);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.save(testBook)).thenReturn(testBook);
+
+        // Act
+        Optional<Book> result = bookService.updateBook(1L, details);
+
+        // Assert
+        assertThat(result).containsSame(testBook);
+        assertThat(testBook.getTitle()).isEqualTo("Updated Book");
+        assertThat(testBook.getPrice()).isEqualTo(24.99);
+        assertThat(testBook.getStockQuantity()).isEqualTo(15);
+        verify(catalogVersions).bookChanged(1L);
+    }
+
+    @Test
+    @DisplayName("Should return empty when updating a non-existent book")
+    void shouldReturnEmpty_whenUpdatingNonExistentBook() {
+        // Arrange
+        when(bookRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<Book> result = bookService.updateBook(999L, testBook);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should stream search results for non-empty query")
+    void shouldStreamSearchResults_whenQueryProvided() {
+        // Arrange
+        when(bookRepository.searchBooksAfter(eq("Test"), eq(0L), any(Pageable.class))).thenReturn(List.of(testBook));
+
+        // Act
+        List<Book> result = bookService.streamSearchBooks("Test").collectList().block();
+
+        // Assert
+        assertThat(result).containsExactly(testBook);
+    }
+
+    // Waits until the followers have joined the leader's query, see SingleFlightTest
+    private static void awaitCoalesced(LongSupplier coalesced, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced.getAsLong() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Only " + coalesced.getAsLong() + " of " + expected + " callers coalesced");
+            }
+            Thread.yield();
+        }
+    }
 }
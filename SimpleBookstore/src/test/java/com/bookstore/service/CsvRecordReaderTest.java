@@ -0,0 +1,49 @@
+package com.bookstore.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CsvRecordReader Tests")
+class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("Should split records on CRLF and LF line endings")
+    void shouldSplitRecords_whenLinesEndWithCrlfOrLf() throws IOException {
+        // Arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\r\nc,d\ne,\r\n"));
+
+        // Act & Assert
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).containsExactly("c", "d");
+        assertThat(reader.next()).containsExactly("e", "");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read quoted fields with separators, escaped quotes and line breaks")
+    void shouldReadQuotedFields_whenFieldsContainSpecialCharacters() throws IOException {
+        // Arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"Hello, World\",\"Say \"\"hi\"\"\",\"line1\r\nline2\"\r\nlast"));
+
+        // Act & Assert
+        assertThat(reader.next()).containsExactly("Hello, World", "Say \"hi\"", "line1\r\nline2");
+        assertThat(reader.next()).containsExactly("last");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fail when a quoted field is not terminated")
+    void shouldFail_whenQuotedFieldIsUnterminated() {
+        // Arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"open,field\r\n"));
+
+        // Act & Assert
+        assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+    }
+}
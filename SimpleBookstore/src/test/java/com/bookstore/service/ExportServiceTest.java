@@ -0,0 +1,164 @@
+package com.bookstore.service;
+
+import com.bookstore.model.Book;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderItem;
+import com.bookstore.repository.BookRepository;
+import com.bookstore.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportService Tests")
+class ExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @InjectMocks
+    private ExportService exportService;
+
+    private Book testBook;
+    private Book testBook2;
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        testBook = new Book("Test Book", "Test Author", "123-456-789", 19.99, "Test Description", 10);
+        testBook.setId(1L);
+
+        testBook2 = new Book("Book, \"Quoted\"", "Another Author", "987-654-321", 29.99, "Line one\nLine two", 5);
+        testBook2.setId(2L);
+
+        testOrder = new Order("John Doe", "john@example.com", "123 Main St", 69.97);
+        testOrder.setId(7L);
+        testOrder.setOrderDate(LocalDateTime.of(2024, 1, 15, 10, 30));
+        OrderItem item1 = new OrderItem(testOrder, testBook, 2, 19.99);
+        item1.setId(11L);
+        OrderItem item2 = new OrderItem(testOrder, testBook2, 1, 29.99);
+        item2.setId(12L);
+        testOrder.setOrderItems(List.of(item1, item2));
+    }
+
+    @Test
+    @DisplayName("Should write books as a JSON array and detach each one")
+    void shouldWriteJsonArrayAndDetach_whenExportingBooksAsJson() throws Exception {
+        // Arrange
+        when(bookRepository.streamAllForExport()).thenReturn(Stream.of(testBook, testBook2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportBooks(ExportFormat.JSON, out);
+
+        // Assert
+        assertThat(count).isEqualTo(2);
+        assertThat(objectMapper.readTree(out.toByteArray())).hasSize(2);
+        assertThat(objectMapper.readTree(out.toByteArray()).get(1).get("title").asText()).isEqualTo("Book, \"Quoted\"");
+        verify(entityManager).detach(testBook);
+        verify(entityManager).detach(testBook2);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per line for NDJSON")
+    void shouldWriteOneLinePerBook_whenExportingBooksAsNdjson() throws Exception {
+        // Arrange
+        when(bookRepository.streamAllForExport()).thenReturn(Stream.of(testBook, testBook2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportBooks(ExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(1L);
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should quote CSV fields containing separators, quotes and line breaks")
+    void shouldEscapeCsvFields_whenExportingBooksAsCsv() throws Exception {
+        // Arrange
+        when(bookRepository.streamAllForExport()).thenReturn(Stream.of(testBook, testBook2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportBooks(ExportFormat.CSV, out);
+
+        // Assert
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,title,author,isbn,price,stock_quantity,description\r\n"
+                        + "1,Test Book,Test Author,123-456-789,19.99,10,Test Description\r\n"
+                        + "2,\"Book, \"\"Quoted\"\"\",Another Author,987-654-321,29.99,5,\"Line one\nLine two\"\r\n");
+    }
+
+    @Test
+    @DisplayName("Should write one CSV line per order item")
+    void shouldWriteLinePerItem_whenExportingOrdersAsCsv() throws Exception {
+        // Arrange
+        Order emptyOrder = new Order("Jane Smith", "jane@example.com", "456 Oak Ave", 0.0);
+        emptyOrder.setId(8L);
+        emptyOrder.setOrderDate(LocalDateTime.of(2024, 1, 16, 9, 0));
+        when(orderRepository.streamAllWithItemsForExport()).thenReturn(Stream.of(testOrder, emptyOrder));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportOrders(ExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[1]).isEqualTo("7,2024-01-15T10:30,PENDING,John Doe,john@example.com,123 Main St,69.97,11,1,123-456-789,Test Book,2,19.99");
+        assertThat(lines[3]).isEqualTo("8,2024-01-16T09:00,PENDING,Jane Smith,jane@example.com,456 Oak Ave,0.0,,,,,,");
+    }
+
+    @Test
+    @DisplayName("Should write orders with their items and detach orders and books")
+    void shouldWriteItemsAndDetach_whenExportingOrdersAsJson() throws Exception {
+        // Arrange
+        when(orderRepository.streamAllWithItemsForExport()).thenReturn(Stream.of(testOrder));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportOrders(ExportFormat.JSON, out);
+
+        // Assert
+        assertThat(objectMapper.readTree(out.toByteArray()).get(0).get("orderItems")).hasSize(2);
+        assertThat(objectMapper.readTree(out.toByteArray()).get(0).get("orderDate").asText()).isEqualTo("2024-01-15T10:30:00");
+        verify(entityManager).detach(testOrder);
+        verify(entityManager).detach(testBook);
+        verify(entityManager).detach(testBook2);
+    }
+}
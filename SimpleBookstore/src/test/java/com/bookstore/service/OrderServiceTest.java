@@ -3,6 +3,7 @@ package com.bookstore.service;
 import com.bookstore.model.Book;
 import com.bookstore.model.CartItem;
 import com.bookstore.model.Order;
+import com.bookstore.monitoring.BusinessMetrics;
 import com.bookstore.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +12,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -35,6 +38,9 @@ class OrderServiceTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private BusinessMetrics businessMetrics;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -80,6 +86,29 @@ class OrderServiceTest {
         verify(bookService).updateStock(1L, 2);
         verify(cartService).clearCart(SESSION_ID);
         verify(orderRepository, times(2)).save(any(Order.class));
+        verify(businessMetrics).orderCreated();
+    }
+
+    @Test
+    @DisplayName("Should count the order only once its transaction commits")
+    void shouldCountOrderAfterCommit_whenTransactionActive() {
+        // Arrange
+        when(cartService.getCartItems(SESSION_ID)).thenReturn(Arrays.asList(testCartItem));
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(testBook));
+        when(bookService.updateStock(1L, 2)).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            orderService.createOrder(SESSION_ID, CUSTOMER_NAME, CUSTOMER_EMAIL, CUSTOMER_ADDRESS);
+
+            // Assert
+            verify(businessMetrics, never()).orderCreated();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(businessMetrics).orderCreated();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -96,6 +125,8 @@ class OrderServiceTest {
         verify(cartService).getCartItems(SESSION_ID);
         verify(orderRepository, never()).save(any());
         verify(cartService, never()).clearCart(any());
+        verify(businessMetrics).emptyCart();
+        verify(businessMetrics, never()).orderCreated();
     }
 
     @Test
@@ -119,6 +150,8 @@ class OrderServiceTest {
         verify(bookService).getBookById(1L);
         verify(bookService, never()).updateStock(anyLong(), anyInt());
         verify(cartService, never()).clearCart(any());
+        verify(businessMetrics).insufficientStock();
+        verify(businessMetrics, never()).orderCreated();
     }
 
     @Test
@@ -0,0 +1,121 @@
+package com.bookstore.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should fan one load out to every concurrent caller of the same key")
+    void shouldLoadOnce_whenSameKeyRequestedConcurrently() throws Exception {
+        // Arrange
+        Future<String> leader = executor.submit(() -> flights.execute("book:1", () -> blockingLoad("value")));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // Act
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> flights.execute("book:1", () -> blockingLoad("other"))));
+        }
+        awaitCoalesced(flights::getCoalesced, 5);
+        release.countDown();
+
+        // Assert
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(flights.getCoalesced()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should load different keys independently")
+    void shouldLoadEachKey_whenKeysDiffer() throws Exception {
+        // Arrange
+        Future<String> first = executor.submit(() -> flights.execute("book:1", () -> blockingLoad("first")));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // Act
+        String second = flights.execute("book:2", () -> "second");
+        release.countDown();
+
+        // Assert
+        assertThat(second).isEqualTo("second");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(flights.getCoalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should pass the loader's exception to every waiting caller and then forget it")
+    void shouldPropagateException_whenLoadFails() throws Exception {
+        // Arrange
+        Future<String> leader = executor.submit(() -> flights.execute("book:1", () -> {
+            blockingLoad("ignored");
+            throw new IllegalStateException("database down");
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> flights.execute("book:1", () -> "unused"));
+        awaitCoalesced(flights::getCoalesced, 1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasRootCauseMessage("database down");
+        assertThat(flights.execute("book:1", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private String blockingLoad(String value) {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    // Followers count themselves as coalesced once they hold the running call, so after
+    // this the leader can be released without any follower starting a load of its own
+    private static void awaitCoalesced(LongSupplier coalesced, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced.getAsLong() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Only " + coalesced.getAsLong() + " of " + expected + " callers coalesced");
+            }
+            Thread.yield();
+        }
+    }
+}
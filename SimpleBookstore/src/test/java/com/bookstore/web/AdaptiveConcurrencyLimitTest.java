@@ -0,0 +1,96 @@
+package com.bookstore.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    @Test
+    @DisplayName("Should refuse slots beyond the limit")
+    void shouldRefuseAcquire_whenLimitReached() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(2);
+
+        // Act
+        boolean first = limit.tryAcquire();
+        boolean second = limit.tryAcquire();
+        boolean third = limit.tryAcquire();
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should grow by one per fast request while the limit is in use")
+    void shouldIncreaseLimit_whenSaturatedAndFast() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(4);
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+        }
+
+        // Act
+        limit.release(FAST, false);
+        limit.release(FAST, false);
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should not grow while mostly idle")
+    void shouldKeepLimit_whenUnderused() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(10);
+        limit.tryAcquire();
+
+        // Act
+        limit.release(FAST, false);
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on slow or failed requests, down to the minimum")
+    void shouldDecreaseLimit_whenSlowOrFailed() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = limit(10);
+
+        // Act
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        int afterSlow = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+
+        // Assert
+        assertThat(afterSlow).isEqualTo(9);
+        assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent bounds")
+    void shouldThrowException_whenBoundsInvalid() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(50, 1, 20, Duration.ofMillis(100), 0.9))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AdaptiveConcurrencyLimit limit(int initial) {
+        return new AdaptiveConcurrencyLimit(initial, 1, 20, Duration.ofMillis(100), 0.9);
+    }
+}
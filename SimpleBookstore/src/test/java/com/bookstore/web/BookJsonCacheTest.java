@@ -0,0 +1,102 @@
+package com.bookstore.web;
+
+import com.bookstore.model.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookJsonCache Tests")
+class BookJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Compression compression = new Compression(true, 1024, 6, 3, true, List.of(MediaType.APPLICATION_JSON));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Book testBook;
+
+    @BeforeEach
+    void setUp() {
+        testBook = new Book("Test Book", "Test Author", "123-456-789", 19.99, "Test Description", 10);
+        testBook.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Should encode once per ETag")
+    void shouldReuseBytes_whenETagUnchanged() throws Exception {
+        // Arrange
+        BookJsonCache cache = new BookJsonCache(objectMapper, compression, 10);
+
+        // Act
+        byte[] first = cache.get("book:1", "\"1\"", this::load).orElseThrow().bytes();
+        byte[] second = cache.get("book:1", "\"1\"", this::load).orElseThrow().bytes();
+        byte[] afterChange = cache.get("book:1", "\"2\"", this::load).orElseThrow().bytes();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(afterChange).isNotSameAs(first);
+        assertThat(loads).hasValue(2);
+        assertThat(first).isEqualTo(objectMapper.writeValueAsBytes(testBook));
+    }
+
+    @Test
+    @DisplayName("Should not cache missing values")
+    void shouldNotCache_whenLoaderReturnsEmpty() {
+        // Arrange
+        BookJsonCache cache = new BookJsonCache(objectMapper, compression, 10);
+
+        // Act
+        Optional<BookJsonCache.Json> result = cache.get("book:999", "\"1\"", Optional::empty);
+
+        // Assert
+        assertThat(result).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used key once max entries is reached")
+    void shouldEvictLeastRecentlyUsed_whenMaxEntriesReached() {
+        // Arrange
+        BookJsonCache cache = new BookJsonCache(objectMapper, compression, 2);
+        cache.get("book:1", "\"1\"", this::load);
+        cache.get("book:2", "\"1\"", this::load);
+        cache.get("book:1", "\"1\"", this::load);
+
+        // Act
+        cache.get("book:3", "\"1\"", this::load);
+
+        // Assert
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.contains("book:1")).isTrue();
+        assertThat(cache.contains("book:2")).isFalse();
+        assertThat(cache.contains("book:3")).isTrue();
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should compress each encoding once per entry")
+    void shouldReuseCompressedBytes_whenSameEncodingRequestedTwice() {
+        // Arrange
+        BookJsonCache cache = new BookJsonCache(objectMapper, compression, 10);
+        BookJsonCache.Json json = cache.get("book:1", "\"1\"", this::load).orElseThrow();
+
+        // Act
+        byte[] gzip = json.encoded(Compression.GZIP);
+
+        // Assert
+        assertThat(json.encoded(Compression.GZIP)).isSameAs(gzip);
+        assertThat(json.isCompressible()).isFalse();
+    }
+
+    private Optional<?> load() {
+        loads.incrementAndGet();
+        return Optional.of(testBook);
+    }
+}
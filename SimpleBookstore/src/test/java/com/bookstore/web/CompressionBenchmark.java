@@ -0,0 +1,173 @@
+package com.bookstore.web;
+
+import com.bookstore.model.Book;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CPU cost against bytes saved for each encoding and level on full catalog dumps. Not
+ * part of the normal build; run with {@code mvn test -Pbenchmark}. Catalog sizes can be
+ * overridden with {@code -Dbookstore.benchmark.catalog-sizes=10000,100000}.
+ * <p>
+ * The catalog is generated and serialized row by row into the compressor, so even the
+ * 1M-book dump never sits in memory. "Extra CPU" is the thread CPU time on top of plain
+ * serialization, the best of a few runs.
+ */
+@DisplayName("Compression Benchmark")
+class CompressionBenchmark {
+
+    private static final String[] WORDS = {"the", "shadow", "river", "of", "lost", "garden", "night", "empire",
+            "silent", "winter", "code", "history", "modern", "art", "journey", "secret", "light", "stone", "city", "war"};
+    private static final String[] NAMES = {"Harper", "Lee", "Austen", "Orwell", "Tolkien", "Rowling", "Martin",
+            "Atwood", "Ishiguro", "Morrison", "Murakami", "Adichie", "Le Guin", "Pratchett", "Eco", "Borges"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Should report CPU cost and bytes saved per encoding and level")
+    void shouldReportCpuCostAgainstBytesSaved_forCatalogDumps() throws IOException {
+        int[] sizes = Arrays.stream(System.getProperty("bookstore.benchmark.catalog-sizes", "10000,100000,1000000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .toArray();
+        List<String[]> codecs = List.of(
+                new String[]{Compression.GZIP, "1"}, new String[]{Compression.GZIP, "6"}, new String[]{Compression.GZIP, "9"},
+                new String[]{Compression.ZSTD, "1"}, new String[]{Compression.ZSTD, "3"}, new String[]{Compression.ZSTD, "9"});
+
+        // Warm up the serializer and both codecs before measuring anything
+        for (String[] codec : codecs) {
+            measure(5_000, codec[0], Integer.parseInt(codec[1]), 1);
+        }
+
+        System.out.printf("%n%9s  %-5s %5s  %12s  %12s  %7s  %10s  %12s  %14s%n", "books", "codec", "level",
+                "raw bytes", "encoded", "ratio", "CPU ms", "extra CPU ms", "ms per MB saved");
+        for (int size : sizes) {
+            int runs = size >= 1_000_000 ? 1 : 3;
+            Result plain = measure(size, null, 0, runs);
+            System.out.printf("%9d  %-5s %5s  %12d  %12d  %7.2f  %10.1f  %12s  %14s%n",
+                    size, "none", "-", plain.rawBytes(), plain.rawBytes(), 1.0, plain.cpuMillis(), "-", "-");
+            for (String[] codec : codecs) {
+                Result result = measure(size, codec[0], Integer.parseInt(codec[1]), runs);
+                double extraCpu = result.cpuMillis() - plain.cpuMillis();
+                double savedMb = (result.rawBytes() - result.encodedBytes()) / (1024.0 * 1024.0);
+                System.out.printf("%9d  %-5s %5s  %12d  %12d  %7.2f  %10.1f  %12.1f  %14.2f%n",
+                        size, codec[0], codec[1], result.rawBytes(), result.encodedBytes(),
+                        (double) result.rawBytes() / result.encodedBytes(), result.cpuMillis(), extraCpu, extraCpu / savedMb);
+                assertThat(result.encodedBytes()).isLessThan(result.rawBytes());
+            }
+        }
+    }
+
+    private Result measure(int books, String encoding, int level, int runs) throws IOException {
+        Compression compression = new Compression(true, 0, level, level, true, List.of(MediaType.APPLICATION_JSON));
+        Result best = null;
+        for (int run = 0; run < runs; run++) {
+            CountingOutputStream encoded = new CountingOutputStream();
+            CountingOutputStream raw = new CountingOutputStream();
+            long start = threads.getCurrentThreadCpuTime();
+            try (OutputStream sink = encoding == null ? encoded : compression.compressing(encoded, encoding)) {
+                writeCatalog(books, new TeeOutputStream(sink, raw));
+            }
+            double cpuMillis = (threads.getCurrentThreadCpuTime() - start) / 1_000_000.0;
+            if (best == null || cpuMillis < best.cpuMillis()) {
+                best = new Result(raw.count, encoded.count, cpuMillis);
+            }
+        }
+        return best;
+    }
+
+    // Seeded so every codec sees the same bytes. Flushing after every book, Jackson's
+    // default, would make both codecs emit a block per book, as ExportService avoids too
+    private void writeCatalog(int books, OutputStream out) throws IOException {
+        Random random = new Random(42);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (long id = 1; id <= books; id++) {
+                Book book = new Book(words(random, 2 + random.nextInt(4)), NAMES[random.nextInt(NAMES.length)] + " "
+                        + NAMES[random.nextInt(NAMES.length)], "978-" + (1_000_000_000L + random.nextInt(999_999_999)),
+                        Math.round(random.nextDouble() * 5000) / 100.0, words(random, 10 + random.nextInt(30)), random.nextInt(200));
+                book.setId(id);
+                writer.writeValue(generator, book);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private record Result(long rawBytes, long encodedBytes, double cpuMillis) {
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static class TeeOutputStream extends OutputStream {
+
+        private final OutputStream first;
+        private final CountingOutputStream second;
+
+        TeeOutputStream(OutputStream first, CountingOutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            first.close();
+        }
+    }
+}
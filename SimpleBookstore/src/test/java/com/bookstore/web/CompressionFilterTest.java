@@ -0,0 +1,166 @@
+package com.bookstore.web;
+
+import com.github.luben.zstd.ZstdInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompressionFilter Tests")
+class CompressionFilterTest {
+
+    private static final String LARGE_JSON = "[" + "{\"title\":\"Test Book\",\"author\":\"Test Author\"},".repeat(100) + "{}]";
+
+    private final CompressionFilter filter = new CompressionFilter(
+            new Compression(true, 2048, 6, 3, true, List.of(MediaType.APPLICATION_JSON)));
+
+    @Test
+    @DisplayName("Should gzip large JSON bodies when client accepts gzip")
+    void shouldGzipBody_whenLargeJsonAndGzipAccepted() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainWriting(MediaType.APPLICATION_JSON_VALUE, LARGE_JSON, null));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LARGE_JSON);
+        }
+    }
+
+    @Test
+    @DisplayName("Should add the coding suffix to a strong ETag when compressing")
+    void shouldSuffixETag_whenCompressing() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                resp.setHeader(HttpHeaders.ETAG, "\"1.0-7\"");
+                resp.getOutputStream().write(LARGE_JSON.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders(HttpHeaders.ETAG)).containsExactly("\"1.0-7-gz\"");
+    }
+
+    @Test
+    @DisplayName("Should zstd-compress writer output when client prefers zstd")
+    void shouldZstdCompressBody_whenWrittenThroughWriter() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("gzip;q=0.5, zstd");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                resp.setCharacterEncoding("UTF-8");
+                resp.getWriter().write(LARGE_JSON);
+            }
+        });
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LARGE_JSON);
+        }
+    }
+
+    @Test
+    @DisplayName("Should send small bodies uncompressed with their length")
+    void shouldNotCompress_whenBodyBelowMinSize() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainWriting(MediaType.APPLICATION_JSON_VALUE, "{\"id\":1}", null));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(response.getContentLength()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should pass through bodies that are already encoded")
+    void shouldPassThrough_whenContentEncodingAlreadySet() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainWriting(MediaType.APPLICATION_JSON_VALUE, LARGE_JSON, "zstd"));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    @DisplayName("Should not compress media types outside the configured list")
+    void shouldNotCompress_whenMediaTypeNotConfigured() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = request("gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainWriting(MediaType.IMAGE_PNG_VALUE, LARGE_JSON, null));
+
+        // Assert
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    private static MockFilterChain chainWriting(String contentType, String body, String contentEncoding) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                resp.setContentType(contentType);
+                if (contentEncoding != null) {
+                    resp.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+                }
+                resp.setContentLength(bytes.length);
+                resp.getOutputStream().write(bytes);
+                resp.getOutputStream().flush();
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookstore.web;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Compression Tests")
+class CompressionTest {
+
+    private final Compression compression = new Compression(true, 2048, 6, 3, true,
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON));
+
+    @Test
+    @DisplayName("Should prefer zstd when client accepts zstd and gzip equally")
+    void shouldPreferZstd_whenWeightsAreEqual() {
+        assertThat(compression.negotiate("gzip, deflate, br, zstd")).contains(Compression.ZSTD);
+    }
+
+    @Test
+    @DisplayName("Should honour client weights over server preference")
+    void shouldPickGzip_whenGzipHasHigherWeight() {
+        assertThat(compression.negotiate("zstd;q=0.5, gzip")).contains(Compression.GZIP);
+    }
+
+    @Test
+    @DisplayName("Should not pick encodings the client refuses")
+    void shouldReturnEmpty_whenOnlyRefusedOrUnknownEncodings() {
+        assertThat(compression.negotiate("br, deflate")).isEmpty();
+        assertThat(compression.negotiate("gzip;q=0, zstd;q=0")).isEmpty();
+        assertThat(compression.negotiate(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply wildcard weight to unlisted encodings")
+    void shouldUseWildcardWeight_whenEncodingNotListed() {
+        assertThat(compression.negotiate("*;q=0.8, zstd;q=0")).contains(Compression.GZIP);
+    }
+
+    @Test
+    @DisplayName("Should only compress configured media types")
+    void shouldMatchConfiguredMediaTypes_whenCheckingContentType() {
+        assertThat(compression.isCompressible("application/json;charset=UTF-8")).isTrue();
+        assertThat(compression.isCompressible("application/x-ndjson")).isTrue();
+        assertThat(compression.isCompressible("image/png")).isFalse();
+        assertThat(compression.isCompressible(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give each content coding its own strong ETag")
+    void shouldSuffixStrongETag_whenEncoded() {
+        assertThat(Compression.etag("\"1.0-7\"", Compression.GZIP)).isEqualTo("\"1.0-7-gz\"");
+        assertThat(Compression.etag("\"1.0-7\"", Compression.ZSTD)).isEqualTo("\"1.0-7-zst\"");
+        assertThat(Compression.etag("W/\"1.0-7\"", Compression.GZIP)).isEqualTo("W/\"1.0-7\"");
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match against the ETag in any coding")
+    void shouldMatchIfNoneMatch_whenAnyCodingVariantSent() {
+        String etag = "\"1.0-7\"";
+        assertThat(Compression.matchIfNoneMatch(new String[]{"\"0.0-1\", \"1.0-7-zst\""}, etag)).contains("\"1.0-7-zst\"");
+        assertThat(Compression.matchIfNoneMatch(new String[]{"W/\"1.0-7-gz\""}, etag)).contains("\"1.0-7-gz\"");
+        assertThat(Compression.matchIfNoneMatch(new String[]{"*"}, etag)).contains(etag);
+        assertThat(Compression.matchIfNoneMatch(new String[]{"\"1.0-6-gz\""}, etag)).isEmpty();
+        assertThat(Compression.matchIfNoneMatch(null, etag)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should round-trip bytes through gzip and zstd")
+    void shouldRoundTrip_whenCompressingWithEitherEncoding() throws Exception {
+        // Arrange
+        byte[] json = "[{\"title\":\"Test Book\"},{\"title\":\"Test Book\"}]".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        byte[] gzip = compression.compress(json, Compression.GZIP);
+        byte[] zstd = compression.compress(json, Compression.ZSTD);
+
+        // Assert
+        assertThat(gzip.length).isLessThan(json.length / 10);
+        assertThat(zstd.length).isLessThan(json.length / 10);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(zstd))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.bookstore.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LoadSheddingFilter Tests")
+class LoadSheddingFilterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should answer 429 once the session has used its burst")
+    void shouldRejectWith429_whenSessionRateExceeded() throws Exception {
+        // Arrange
+        LoadSheddingFilter filter = filter(group(10, 0.001, 2));
+        MockHttpSession session = new MockHttpSession();
+
+        // Act
+        int first = perform(filter, "POST", "/api/orders", session).getStatus();
+        int second = perform(filter, "POST", "/api/orders", session).getStatus();
+        MockHttpServletResponse third = perform(filter, "POST", "/api/orders", session);
+        int otherSession = perform(filter, "POST", "/api/orders", new MockHttpSession()).getStatus();
+
+        // Assert
+        assertThat(first).isEqualTo(200);
+        assertThat(second).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(third.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+        assertThat(otherSession).isEqualTo(200);
+        assertThat(calls).hasValue(3);
+        assertThat(registry.get("bookstore.load-shedding.rejected").tags("group", "checkout", "reason", "rate_limited")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should rate limit requests without a session by remote address at the address rate")
+    void shouldRejectWith429_whenAddressRateExceededWithoutSession() throws Exception {
+        // Arrange
+        LoadSheddingFilter filter = filter(group(10, 100, 100, 0.001, 1), 1);
+
+        // Act
+        int first = perform(filter, "/api/orders", "10.0.0.1").getStatus();
+        int repeated = perform(filter, "/api/orders", "10.0.0.1").getStatus();
+        int otherAddress = perform(filter, "/api/orders", "10.0.0.2").getStatus();
+        int afterEviction = perform(filter, "/api/orders", "10.0.0.1").getStatus();
+
+        // Assert
+        assertThat(first).isEqualTo(200);
+        assertThat(repeated).isEqualTo(429);
+        assertThat(otherAddress).isEqualTo(200);
+        assertThat(afterEviction).isEqualTo(200);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should admit many first-time carts from one address up to the address burst, not the session burst")
+    void shouldAdmitFirstTimeCarts_whenManyShoppersShareOneAddress() throws Exception {
+        // Arrange
+        LoadSheddingFilter filter = filter(group(10, 0.001, 2, 0.001, 150));
+        MockHttpSession returning = new MockHttpSession();
+
+        // Act
+        int admitted = 0;
+        for (int shopper = 0; shopper < 150; shopper++) {
+            if (perform(filter, "/api/orders", "203.0.113.7").getStatus() == 200) {
+                admitted++;
+            }
+        }
+        int overAddressBurst = perform(filter, "/api/orders", "203.0.113.7").getStatus();
+        int sessionFirst = perform(filter, "POST", "/api/orders", returning).getStatus();
+        int sessionSecond = perform(filter, "POST", "/api/orders", returning).getStatus();
+        int sessionThird = perform(filter, "POST", "/api/orders", returning).getStatus();
+
+        // Assert
+        assertThat(admitted).isEqualTo(150);
+        assertThat(overAddressBurst).isEqualTo(429);
+        assertThat(sessionFirst).isEqualTo(200);
+        assertThat(sessionSecond).isEqualTo(200);
+        assertThat(sessionThird).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should not rate limit requests without a session when the group has no address rate")
+    void shouldPassThrough_whenNoAddressRateAndNoSession() throws Exception {
+        // Arrange
+        LoadSheddingFilter filter = filter(group(10, 0.001, 1));
+
+        // Act
+        int first = perform(filter, "/api/orders", "10.0.0.1").getStatus();
+        int second = perform(filter, "/api/orders", "10.0.0.1").getStatus();
+
+        // Assert
+        assertThat(first).isEqualTo(200);
+        assertThat(second).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should keep the session bucket serializable")
+    void shouldSerializeSessionBucket_whenSessionIsPersisted() throws Exception {
+        // Arrange
+        LoadSheddingFilter filter = filter(group(10, 0.001, 1));
+        MockHttpSession session = new MockHttpSession();
+        perform(filter, "POST", "/api/orders", session);
+        Object bucket = session.getAttribute(LoadSheddingFilter.BUCKET_ATTRIBUTE + "checkout");
+
+        // Act
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(bucket);
+        }
+        TokenBucket restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (TokenBucket) in.readObject();
+        }
+
+        // Assert
+        assertThat(restored.tryConsume(System.nanoTime())).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the group is at its concurrency limit")
+    void shouldRejectWith503_whenConcurrencyLimitReached() throws Exception {
+        // Arrange
+        EndpointGroup group = group(1, 0, 1);
+        LoadSheddingFilter filter = filter(group);
+        group.getLimit().tryAcquire();
+
+        // Act
+        MockHttpServletResponse response = perform(filter, "POST", "/api/orders", null);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(calls).hasValue(0);
+        assertThat(registry.get("bookstore.load-shedding.rejected").tags("group", "checkout", "reason", "overloaded")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should let requests outside every group through unlimited")
+    void shouldPassThrough_whenRequestMatchesNoGroup() throws Exception {
+        // Arrange
+        EndpointGroup group = group(1, 0, 1);
+        LoadSheddingFilter filter = filter(group);
+        group.getLimit().tryAcquire();
+
+        // Act
+        int read = perform(filter, "GET", "/api/orders/1", null).getStatus();
+
+        // Assert
+        assertThat(read).isEqualTo(200);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should release the slot after the request, also when it fails")
+    void shouldReleaseSlot_whenRequestCompletes() throws Exception {
+        // Arrange
+        EndpointGroup group = group(4, 0, 1);
+        LoadSheddingFilter filter = filter(group);
+
+        // Act
+        perform(filter, "POST", "/api/orders", null);
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/orders", null), failed, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(500);
+            }
+        }));
+
+        // Assert
+        assertThat(group.getLimit().getInFlight()).isZero();
+        assertThat(group.getLimit().getLimit()).isEqualTo(3);
+        assertThat(registry.get("bookstore.load-shedding.limit").tag("group", "checkout").gauge().value()).isEqualTo(3.0);
+    }
+
+    private LoadSheddingFilter filter(EndpointGroup group) {
+        return filter(group, 100);
+    }
+
+    private LoadSheddingFilter filter(EndpointGroup group, int maxAddresses) {
+        return new LoadSheddingFilter(List.of(group), maxAddresses, registry);
+    }
+
+    private static EndpointGroup group(int limit, double rate, int burst) {
+        return group(limit, rate, burst, 0, 1);
+    }
+
+    private static EndpointGroup group(int limit, double rate, int burst, double addressRate, int addressBurst) {
+        return new EndpointGroup("checkout", List.of("POST /api/orders"),
+                new AdaptiveConcurrencyLimit(limit, 1, 20, Duration.ofSeconds(10), 0.9), rate, burst,
+                addressRate, addressBurst);
+    }
+
+    private MockHttpServletResponse perform(LoadSheddingFilter filter, String method, String uri, MockHttpSession session)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, session), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                calls.incrementAndGet();
+            }
+        }));
+        return response;
+    }
+
+    private MockHttpServletResponse perform(LoadSheddingFilter filter, String uri, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = request("POST", uri, null);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                calls.incrementAndGet();
+            }
+        }));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setSession(session);
+        return request;
+    }
+}